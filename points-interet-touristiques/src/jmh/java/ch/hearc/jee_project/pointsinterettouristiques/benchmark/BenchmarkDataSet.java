@@ -0,0 +1,101 @@
+package ch.hearc.jee_project.pointsinterettouristiques.benchmark;
+
+import ch.hearc.jee_project.pointsinterettouristiques.PointsInteretTouristiquesApplication;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Démarre l'application sur une base H2 en mémoire dédiée et la remplit avec un
+ * volume configurable de lieux validés et de notes.
+ */
+final class BenchmarkDataSet {
+
+    private static final int CHUNK_SIZE = 500;
+
+    final ConfigurableApplicationContext context;
+    final List<Long> placeIds = new ArrayList<>();
+    final List<Long> userIds = new ArrayList<>();
+
+    private BenchmarkDataSet(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static BenchmarkDataSet start(int places, int ratingsPerPlace, int users, String cacheType) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PointsInteretTouristiquesApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.cache.type=" + cacheType,
+                        "logging.level.root=WARN")
+                .run();
+
+        BenchmarkDataSet dataSet = new BenchmarkDataSet(context);
+        dataSet.seed(places, ratingsPerPlace, users);
+        return dataSet;
+    }
+
+    private void seed(int places, int ratingsPerPlace, int users) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setUsername("bench_user_" + i);
+            user.setPassword("password");
+            user.setRole(i == 0 ? Role.ADMIN : Role.USER);
+            userIds.add(userRepository.save(user).getId());
+        }
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        TransactionTemplate transaction = context.getBean(TransactionTemplate.class);
+        Random random = new Random(42);
+
+        for (int start = 0; start < places; start += CHUNK_SIZE) {
+            int end = Math.min(places, start + CHUNK_SIZE);
+            int first = start;
+            transaction.executeWithoutResult(status -> {
+                for (int i = first; i < end; i++) {
+                    Place place = new Place();
+                    place.setName("Place " + i);
+                    place.setDescription("Lieu généré pour les benchmarks");
+                    place.setLocation("City " + (i % 1000));
+                    place.setLatitude(-60 + random.nextDouble() * 130);
+                    place.setLongitude(-180 + random.nextDouble() * 360);
+                    place.setStatus(ValidationStatus.VALIDATED);
+                    for (int r = 0; r < ratingsPerPlace; r++) {
+                        place.addOrUpdateRating(userIds.get(random.nextInt(userIds.size())), 1 + random.nextInt(10));
+                    }
+                    entityManager.persist(place);
+                    placeIds.add(place.getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,160 @@
+package ch.hearc.jee_project.pointsinterettouristiques.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test de charge HTTP en boucle fermée : {@code concurrency} clients enchaînent
+ * des requêtes (pages de lieux validés, détail d'un lieu, notes) pendant
+ * {@code seconds} secondes contre les threads Tomcat. Affiche le débit et les
+ * latences p50 / p99.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="--concurrency=400 --seconds=30"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final int WARMUP_SECONDS = 5;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = 400;
+        int seconds = 30;
+        int places = 10_000;
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--concurrency" -> concurrency = Integer.parseInt(option[1]);
+                case "--seconds" -> seconds = Integer.parseInt(option[1]);
+                case "--places" -> places = Integer.parseInt(option[1]);
+                default -> throw new IllegalArgumentException("Option inconnue : " + arg);
+            }
+        }
+
+        BenchmarkDataSet dataSet = BenchmarkDataSet.start(places, 5, 100, "caffeine");
+        try {
+            Client client = new Client(dataSet);
+            client.drive(concurrency, WARMUP_SECONDS);
+            long[] latencies = client.drive(concurrency, seconds);
+
+            Arrays.sort(latencies);
+            System.out.printf("%nconcurrence=%d, durée=%ds, lieux=%d%n", concurrency, seconds, places);
+            System.out.printf(Locale.ROOT, "%8.0f req/s   p50 %7.2f ms   p99 %7.2f ms   erreurs %d%n",
+                    latencies.length / (double) seconds,
+                    percentile(latencies, 0.50) / 1_000_000.0,
+                    percentile(latencies, 0.99) / 1_000_000.0,
+                    client.errors.get());
+        } finally {
+            dataSet.close();
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    // Clients HTTP : chaque thread mesure ses propres latences, fusionnées à la fin
+    private static final class Client {
+
+        private final HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+        private final BenchmarkDataSet dataSet;
+        private final String baseUrl;
+        private final AtomicLong errors = new AtomicLong();
+
+        private Client(BenchmarkDataSet dataSet) {
+            this.dataSet = dataSet;
+            this.baseUrl = "http://localhost:" + dataSet.port() + "/api/places";
+        }
+
+        private long[] drive(int concurrency, int seconds) throws InterruptedException {
+            long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+            List<long[]> perThread = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            errors.set(0);
+
+            for (int t = 0; t < concurrency; t++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                Thread thread = new Thread(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = http.send(nextRequest(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        recorder.add(System.nanoTime() - start);
+                    }
+                    synchronized (perThread) {
+                        perThread.add(recorder.toArray());
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            return perThread.stream().flatMapToLong(Arrays::stream).toArray();
+        }
+
+        // Mélange de lecture : 45 % pages, 45 % détail, 10 % notes
+        private HttpRequest nextRequest() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Long placeId = dataSet.placeIds.get(random.nextInt(dataSet.placeIds.size()));
+            Long userId = dataSet.userIds.get(random.nextInt(dataSet.userIds.size()));
+            int draw = random.nextInt(100);
+            if (draw < 45) {
+                int page = random.nextInt(Math.max(1, dataSet.placeIds.size() / 20));
+                return get("/validatedPlaces/paginated?size=20&page=" + page);
+            }
+            if (draw < 90) {
+                return get("/" + placeId + "?userId=" + userId);
+            }
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/" + placeId + "/rate?userId=" + userId
+                            + "&rating=" + (1 + random.nextInt(10))))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        }
+    }
+
+    private static final class LatencyRecorder {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ch.hearc.jee_project.pointsinterettouristiques.benchmark;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceMarker;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation d'une réponse de carte : {@code size} lieux, en projection complète
+ * ({@link PlaceSummary}) ou en marqueurs ({@link PlaceMarker}), en JSON ou en CBOR.
+ * Les mappers sont ceux de l'application ; la taille des charges utiles est affichée au démarrage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+
+    @Param({"500"})
+    public int size;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private BenchmarkDataSet dataSet;
+    private ObjectMapper mapper;
+    private List<PlaceSummary> summaries;
+    private List<PlaceMarker> markers;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dataSet = BenchmarkDataSet.start(size, 5, 100, "none");
+        mapper = "cbor".equals(format)
+                ? dataSet.bean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper()
+                : dataSet.bean(ObjectMapper.class);
+        summaries = dataSet.bean(PlaceService.class)
+                .getValidatedPlaces(PageRequest.of(0, size, Sort.by("name"))).getContent();
+        markers = summaries.stream().map(PlaceMarker::from).toList();
+
+        System.out.printf("%n%s, %d lieux : summaries %d octets, markers %d octets%n", format, summaries.size(),
+                mapper.writeValueAsBytes(summaries).length, mapper.writeValueAsBytes(markers).length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSet.close();
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws Exception {
+        return mapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] serializeMarkers() throws Exception {
+        return mapper.writeValueAsBytes(markers);
+    }
+}
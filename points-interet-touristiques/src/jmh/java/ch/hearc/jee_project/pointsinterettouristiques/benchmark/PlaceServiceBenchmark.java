@@ -0,0 +1,149 @@
+package ch.hearc.jee_project.pointsinterettouristiques.benchmark;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceCluster;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceRevision;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.BoundingBox;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.PlaceClusterIndex;
+import ch.hearc.jee_project.pointsinterettouristiques.leaderboard.PlaceLeaderboards;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.search.PlaceSearchIndex;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceService;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chemins chauds de PlaceService. Volumes configurables avec
+ * {@code -p places=100000 -p ratingsPerPlace=20 -p cache=none}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceServiceBenchmark {
+
+    @Param({"10000"})
+    public int places;
+
+    @Param({"5"})
+    public int ratingsPerPlace;
+
+    @Param({"100"})
+    public int users;
+
+    // "caffeine" (configuration de production) ou "none" pour mesurer l'accès base seul
+    @Param({"caffeine"})
+    public String cache;
+
+    private BenchmarkDataSet dataSet;
+    private PlaceService placeService;
+    private PlaceVersions placeVersions;
+    private ObjectMapper objectMapper;
+    private Page<PlaceSummary> page;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dataSet = BenchmarkDataSet.start(places, ratingsPerPlace, users, cache);
+        placeService = dataSet.bean(PlaceService.class);
+        placeVersions = dataSet.bean(PlaceVersions.class);
+        objectMapper = dataSet.bean(ObjectMapper.class);
+        // Les lieux sont insérés après le démarrage : l'index de recherche est reconstruit une fois remplis
+        dataSet.bean(PlaceSearchIndex.class).rebuild();
+        dataSet.bean(PlaceLeaderboards.class).rebuild();
+        dataSet.bean(PlaceClusterIndex.class).rebuild();
+        page = placeService.getValidatedPlaces(PageRequest.of(0, 20, Sort.by("name")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSet.close();
+    }
+
+    @Benchmark
+    public void ratePlace() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        placeService.ratePlace(randomPlaceId(random),
+                dataSet.userIds.get(random.nextInt(dataSet.userIds.size())),
+                1 + random.nextInt(10));
+    }
+
+    @Benchmark
+    public Page<PlaceSummary> getValidatedPlacesPage() {
+        int lastPage = Math.max(1, places / 20);
+        return placeService.getValidatedPlaces(
+                PageRequest.of(ThreadLocalRandom.current().nextInt(lastPage), 20, Sort.by("name")));
+    }
+
+    @Benchmark
+    public Place getPlaceById() {
+        return placeService.getPlaceById(randomPlaceId(ThreadLocalRandom.current()));
+    }
+
+    // GET conditionnel d'un lieu : la version lue en base à chaque requête (pas de cache local)
+    @Benchmark
+    public Optional<PlaceRevision> placeRevision() {
+        return placeService.getPlaceRevision(randomPlaceId(ThreadLocalRandom.current()));
+    }
+
+    // GET conditionnel de la liste : version du catalogue lue en base à chaque requête
+    @Benchmark
+    public String catalogueEtag() {
+        return placeVersions.catalogueEtag();
+    }
+
+    @Benchmark
+    public Page<PlaceSummary> searchPlaces() {
+        // Deux termes : "place" (commun à tous les lieux) et un numéro précis
+        return placeService.searchValidatedPlaces(
+                "place " + ThreadLocalRandom.current().nextInt(places), PageRequest.of(0, 20));
+    }
+
+    // Meilleures moyennes : tri SQL de tout le catalogue, puis classement tenu en mémoire
+    @Benchmark
+    public Page<PlaceSummary> topRatedBySort() {
+        return placeService.getValidatedPlaces(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "averageRating")));
+    }
+
+    @Benchmark
+    public List<PlaceSummary> topRatedLeaderboard() {
+        return placeService.getTopRatedPlaces(null, 20);
+    }
+
+    // Vue monde dézoomée : regroupements de tout le catalogue
+    @Benchmark
+    public List<PlaceCluster> clustersWorld() {
+        return placeService.getValidatedClustersWithin(new BoundingBox(-90, -180, 90, 180), 3);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private Long randomPlaceId(ThreadLocalRandom random) {
+        return dataSet.placeIds.get(random.nextInt(dataSet.placeIds.size()));
+    }
+}
@@ -0,0 +1,131 @@
+package ch.hearc.jee_project.pointsinterettouristiques.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Temps jusqu'à la première requête : chaque essai lance l'application dans une
+ * nouvelle JVM et mesure le délai entre le lancement du processus et la première
+ * réponse 200 de {@code GET /api/places/validatedPlaces}. Les modes s'ajoutent
+ * l'un à l'autre : jar extrait seul, initialisation paresseuse, code AOT, archive CDS.
+ *
+ * <pre>
+ * mvn -Pfast-startup package -DskipTests
+ * mvn -Pbenchmark test-compile exec:exec@startup -Dstartup.args="--runs=5"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = List.of("default", "lazy", "aot", "cds");
+        int runs = 5;
+        Path directory = Path.of("target", "fast-startup");
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--modes" -> modes = Arrays.asList(option[1].split(","));
+                case "--runs" -> runs = Integer.parseInt(option[1]);
+                case "--directory" -> directory = Path.of(option[1]);
+                default -> throw new IllegalArgumentException("Option inconnue : " + arg);
+            }
+        }
+        Path jar;
+        try (var files = Files.list(directory)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Jar extrait absent : mvn -Pfast-startup package"));
+        }
+
+        List<String> results = new ArrayList<>();
+        for (String mode : modes) {
+            long[] durations = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                durations[run] = timeToFirstRequest(command(mode, jar, directory), directory.resolve("startup-" + mode + ".log"));
+            }
+            Arrays.sort(durations);
+            results.add(String.format(Locale.ROOT, "%-8s médiane %6d ms   min %6d ms   max %6d ms",
+                    mode, durations[runs / 2], durations[0], durations[runs - 1]));
+        }
+
+        System.out.printf("%nessais=%d, jar=%s%n", runs, jar);
+        results.forEach(System.out::println);
+    }
+
+    // Chaque mode ajoute une optimisation aux précédentes
+    private static List<String> command(String mode, Path jar, Path directory) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        switch (mode) {
+            case "default", "lazy" -> {
+            }
+            case "aot" -> command.add("-Dspring.aot.enabled=true");
+            case "cds" -> {
+                command.add("-XX:SharedArchiveFile=" + directory.resolve("application.jsa"));
+                command.add("-Dspring.aot.enabled=true");
+            }
+            default -> throw new IllegalArgumentException("Mode inconnu : " + mode);
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        if (!mode.equals("default")) {
+            command.add("--spring.profiles.active=faststart");
+        }
+        return command;
+    }
+
+    // Durée en millisecondes ; le journal de la JVM lancée est gardé pour le diagnostic
+    private static long timeToFirstRequest(List<String> command, Path log) throws Exception {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/places/validatedPlaces"))
+                .timeout(Duration.ofSeconds(30)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(withPort).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("L'application s'est arrêtée, voir " + log);
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (ConnectException ex) {
+                    // Serveur pas encore à l'écoute
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Aucune réponse après " + TIMEOUT.toSeconds() + " s, voir " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
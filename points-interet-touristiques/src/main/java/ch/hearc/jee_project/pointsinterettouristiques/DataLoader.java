@@ -4,93 +4,162 @@ import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
 import ch.hearc.jee_project.pointsinterettouristiques.model.User;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
 import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
-import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
 import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceVersions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Données de démonstration (deux comptes, cinq lieux), hors profil prod.
+ * Chargées une fois par base : la version chargée est notée dans data_seed, et
+ * un démarrage suivant se limite à la lire. Quand la version change, seuls les
+ * comptes et les lieux absents (par nom) sont ajoutés.
+ */
 @Component
+@Profile("!prod")
+@ConditionalOnProperty(name = "places.seed.demo", havingValue = "true", matchIfMissing = true)
 public class DataLoader implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
+
+    static final String SEED_NAME = "demo";
+
+    // À incrémenter à chaque modification des données ci-dessous
+    static final int SEED_VERSION = 1;
+
+    private static final Map<String, Role> USERS = new LinkedHashMap<>();
+
+    static {
+        USERS.put("admin", Role.ADMIN);
+        USERS.put("user", Role.USER);
+    }
+
+    // Notes par nom d'utilisateur
+    private record DemoPlace(String name, String description, String location, double latitude, double longitude,
+                             ValidationStatus status, Map<String, Integer> ratings) {
+    }
+
+    private static final List<DemoPlace> PLACES = List.of(
+            new DemoPlace("Tour Eiffel", "Un monument célèbre à Paris.", "Paris, France",
+                    48.858844, 2.294351, ValidationStatus.VALIDATED, Map.of("user", 10, "admin", 8)),
+            new DemoPlace("Colisée", "Un ancien amphithéâtre romain situé à Rome.", "Rome, Italie",
+                    41.890251, 12.492373, ValidationStatus.VALIDATED, Map.of()),
+            new DemoPlace("Statue de la Liberté", "Un symbole de la liberté situé à New York.", "New York, USA",
+                    40.689247, -74.044502, ValidationStatus.UNVALIDATED, Map.of()),
+            new DemoPlace("Grande Muraille de Chine", "Une ancienne série de murs défensifs en Chine.", "Chine",
+                    40.431908, 116.570374, ValidationStatus.REJECTED, Map.of()),
+            new DemoPlace("Machu Picchu", "Une ancienne cité inca située dans les Andes.", "Pérou",
+                    -13.163141, -72.544963, ValidationStatus.VALIDATED, Map.of()));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final UserRepository userRepository;
-    private final PlaceRepository placeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationStartup applicationStartup;
+    private final PlaceVersions placeVersions;
 
-    public DataLoader(UserRepository userRepository, PlaceRepository placeRepository) {
+    public DataLoader(UserRepository userRepository, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                      ApplicationStartup applicationStartup, PlaceVersions placeVersions) {
         this.userRepository = userRepository;
-        this.placeRepository = placeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationStartup = applicationStartup;
+        this.placeVersions = placeVersions;
     }
 
+    // Étape "places.seed.demo" de la chronologie du démarrage (GET /actuator/startup)
     @Override
     public void run(String... args) {
-        // Ajouter un administrateur
-        User admin = new User();
-        admin.setUsername("admin");
-        admin.setPassword("password");
-        admin.setRole(Role.ADMIN);
-
-        // Ajouter un utilisateur
-        User user = new User();
-        user.setUsername("user");
-        user.setPassword("password");
-        user.setRole(Role.USER);
-
-        userRepository.save(admin);
-        userRepository.save(user);
-
-        // Ajouter des lieux
-        Place eiffelTower = new Place();
-        eiffelTower.setName("Tour Eiffel");
-        eiffelTower.setDescription("Un monument célèbre à Paris.");
-        eiffelTower.setLocation("Paris, France");
-        eiffelTower.setLatitude(48.858844);
-        eiffelTower.setLongitude(2.294351);
-        eiffelTower.setStatus(ValidationStatus.VALIDATED);
-        eiffelTower.addOrUpdateRating(user.getId(),5);
-        eiffelTower.addOrUpdateRating(user.getId(),10);
-        eiffelTower.addOrUpdateRating(admin.getId(),8);
-
-        Place colosseum = new Place();
-        colosseum.setName("Colisée");
-        colosseum.setDescription("Un ancien amphithéâtre romain situé à Rome.");
-        colosseum.setLocation("Rome, Italie");
-        colosseum.setLatitude(41.890251);
-        colosseum.setLongitude(12.492373);
-        colosseum.setStatus(ValidationStatus.VALIDATED);
-
-        Place statueOfLiberty = new Place();
-        statueOfLiberty.setName("Statue de la Liberté");
-        statueOfLiberty.setDescription("Un symbole de la liberté situé à New York.");
-        statueOfLiberty.setLocation("New York, USA");
-        statueOfLiberty.setLatitude(40.689247);
-        statueOfLiberty.setLongitude(-74.044502);
-        statueOfLiberty.setStatus(ValidationStatus.UNVALIDATED);
-
-        Place greatWall = new Place();
-        greatWall.setName("Grande Muraille de Chine");
-        greatWall.setDescription("Une ancienne série de murs défensifs en Chine.");
-        greatWall.setLocation("Chine");
-        greatWall.setLatitude(40.431908);
-        greatWall.setLongitude(116.570374);
-        greatWall.setStatus(ValidationStatus.REJECTED);
-
-        Place machuPicchu = new Place();
-        machuPicchu.setName("Machu Picchu");
-        machuPicchu.setDescription("Une ancienne cité inca située dans les Andes.");
-        machuPicchu.setLocation("Pérou");
-        machuPicchu.setLatitude(-13.163141);
-        machuPicchu.setLongitude(-72.544963);
-        machuPicchu.setStatus(ValidationStatus.VALIDATED);
-
-        // Sauvegarder les lieux dans la base de données
-        placeRepository.save(eiffelTower);
-        placeRepository.save(colosseum);
-        placeRepository.save(statueOfLiberty);
-        placeRepository.save(greatWall);
-        placeRepository.save(machuPicchu);
-
-        System.out.println("Données initiales ajoutées !");
+        StartupStep step = applicationStartup.start("places.seed.demo");
+        try {
+            Integer seeded = seededVersion();
+            step.tag("seededVersion", String.valueOf(seeded));
+            if (seeded != null && seeded >= SEED_VERSION) {
+                log.info("Données initiales déjà présentes (version {})", seeded);
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Long> userIds = seedUsers();
+                int places = seedPlaces(userIds);
+                jdbcTemplate.update("MERGE INTO data_seed (name, version, seeded_at) KEY (name) "
+                        + "VALUES (?, ?, CURRENT_TIMESTAMP)", SEED_NAME, SEED_VERSION);
+                step.tag("places", String.valueOf(places));
+                log.info("Données initiales ajoutées (version {}) : {} lieux", SEED_VERSION, places);
+            });
+        } finally {
+            step.end();
+        }
+    }
+
+    private Integer seededVersion() {
+        List<Integer> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM data_seed WHERE name = ?", Integer.class, SEED_NAME);
+        return versions.isEmpty() ? null : versions.get(0);
     }
-}
 
+    // Comptes existants repris tels quels
+    private Map<String, Long> seedUsers() {
+        Map<String, Long> userIds = new HashMap<>();
+        USERS.forEach((username, role) -> userIds.put(username, userRepository.findByUsername(username)
+                .map(User::getId)
+                .orElseGet(() -> {
+                    User user = new User();
+                    user.setUsername(username);
+                    user.setPassword("password");
+                    user.setRole(role);
+                    return userRepository.save(user).getId();
+                })));
+        return userIds;
+    }
 
+    // Lieux absents insérés ensemble : un lot JDBC pour les lieux, un pour leurs notes
+    private int seedPlaces(Map<String, Long> userIds) {
+        List<String> names = PLACES.stream().map(DemoPlace::name).toList();
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT name FROM place WHERE name IN (" + String.join(", ", Collections.nCopies(names.size(), "?")) + ")",
+                String.class, names.toArray()));
+
+        int inserted = 0;
+        for (DemoPlace demo : PLACES) {
+            if (existing.contains(demo.name())) {
+                continue;
+            }
+            Place place = new Place();
+            place.setName(demo.name());
+            place.setDescription(demo.description());
+            place.setLocation(demo.location());
+            place.setLatitude(demo.latitude());
+            place.setLongitude(demo.longitude());
+            place.setStatus(demo.status());
+            demo.ratings().forEach((username, rating) -> place.addOrUpdateRating(userIds.get(username), rating));
+            entityManager.persist(place);
+            inserted++;
+        }
+        entityManager.flush();
+        if (inserted > 0) {
+            placeVersions.catalogueChanged(); // Insertion sans événement : version du catalogue dans la même transaction
+        }
+        return inserted;
+    }
+}
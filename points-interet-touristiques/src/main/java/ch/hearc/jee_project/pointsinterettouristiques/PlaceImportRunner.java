@@ -0,0 +1,53 @@
+package ch.hearc.jee_project.pointsinterettouristiques;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ImportReport;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Import en ligne de commande, activé par {@code --places.import.file=lieux.csv}.
+ * Avec {@code --spring.main.web-application-type=none}, l'application s'arrête à la fin de l'import.
+ */
+@Component
+@ConditionalOnProperty("places.import.file")
+public class PlaceImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceImportRunner.class);
+
+    private final PlaceImportService placeImportService;
+    private final Path file;
+    private final ValidationStatus status;
+
+    public PlaceImportRunner(PlaceImportService placeImportService,
+                             @Value("${places.import.file}") Path file,
+                             @Value("${places.import.status:UNVALIDATED}") ValidationStatus status) {
+        this.placeImportService = placeImportService;
+        this.file = file;
+        this.status = status;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        // Format déduit de l'extension : .csv, sinon JSON (tableau ou NDJSON)
+        PlaceImportService.Format format = file.getFileName().toString().toLowerCase().endsWith(".csv")
+                ? PlaceImportService.Format.CSV
+                : PlaceImportService.Format.JSON;
+
+        log.info("Import de {} ({}) avec le statut {}", file, format, status);
+        try (InputStream input = Files.newInputStream(file)) {
+            ImportReport report = placeImportService.importPlaces(input, format, status);
+            report.errors().forEach(error -> log.warn("Ligne rejetée : {}", error));
+        }
+    }
+}
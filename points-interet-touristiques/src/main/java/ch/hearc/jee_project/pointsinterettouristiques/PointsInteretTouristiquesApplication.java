@@ -2,13 +2,25 @@ package ch.hearc.jee_project.pointsinterettouristiques;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class PointsInteretTouristiquesApplication {
 
+	// Étapes du démarrage gardées en mémoire (une par bean créé, plus les phases du contexte)
+	static final int STARTUP_STEPS = 10_000;
+
 	public static void main(String[] args)
 	{
-		SpringApplication.run(PointsInteretTouristiquesApplication.class, args);
+		application().run(args);
+	}
+
+	// Chronologie du démarrage consultable par GET /actuator/startup
+	static SpringApplication application()
+	{
+		SpringApplication application = new SpringApplication(PointsInteretTouristiquesApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		return application;
 	}
 
 }
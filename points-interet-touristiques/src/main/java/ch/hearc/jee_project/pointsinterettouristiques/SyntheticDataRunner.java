@@ -0,0 +1,51 @@
+package ch.hearc.jee_project.pointsinterettouristiques;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.SyntheticDataReport;
+import ch.hearc.jee_project.pointsinterettouristiques.service.SyntheticDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Génération d'un jeu de données synthétique pour les tests de charge, activée par
+ * {@code --places.seed.synthetic.places=1000000}.
+ * Avec {@code --spring.main.web-application-type=none}, l'application s'arrête à la fin de la génération.
+ */
+@Component
+@ConditionalOnProperty("places.seed.synthetic.places")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    private final SyntheticDataService syntheticDataService;
+    private final long places;
+    private final int ratingsPerPlace;
+    private final int users;
+    private final long seed;
+
+    public SyntheticDataRunner(SyntheticDataService syntheticDataService,
+                               @Value("${places.seed.synthetic.places}") long places,
+                               @Value("${places.seed.synthetic.ratings-per-place:5}") int ratingsPerPlace,
+                               @Value("${places.seed.synthetic.users:1000}") int users,
+                               @Value("${places.seed.synthetic.random-seed:42}") long seed) {
+        this.syntheticDataService = syntheticDataService;
+        this.places = places;
+        this.ratingsPerPlace = ratingsPerPlace;
+        this.users = users;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Génération de {} lieux synthétiques ({} notes par lieu validé, {} utilisateurs)",
+                places, ratingsPerPlace, users);
+        long start = System.nanoTime();
+        SyntheticDataReport report = syntheticDataService.generate(places, ratingsPerPlace, users, seed);
+        log.info("Génération terminée en {} s : {} lieux, {} notes, {} lots", (System.nanoTime() - start) / 1_000_000_000,
+                report.places(), report.ratings(), report.batches());
+    }
+}
@@ -0,0 +1,19 @@
+package ch.hearc.jee_project.pointsinterettouristiques.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Caches applicatifs. L'intercepteur de cache est placé autour de l'intercepteur
+ * transactionnel : les évictions ont lieu après le commit, jamais avant.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String VALIDATED_PLACES = "validatedPlaces";
+    public static final String PLACES = "places";
+    public static final String AVERAGE_RATINGS = "averageRatings";
+    public static final String USER_IDENTITIES = "userIdentities";
+}
@@ -0,0 +1,21 @@
+package ch.hearc.jee_project.pointsinterettouristiques.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Réponses CBOR (Accept: application/cbor) sur tous les endpoints, à côté du JSON
+ * qui reste le format par défaut. Le convertisseur reprend la configuration
+ * Jackson de l'application (modules, options spring.jackson.*).
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
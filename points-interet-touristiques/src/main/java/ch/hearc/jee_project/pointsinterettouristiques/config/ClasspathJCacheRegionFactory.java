@@ -0,0 +1,24 @@
+package ch.hearc.jee_project.pointsinterettouristiques.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Cache de second niveau JCache dont la configuration ({@code hibernate.javax.cache.uri})
+ * est lue dans le classpath par Caffeine ({@code classpath:hibernate-cache.conf}).
+ * Hibernate passe sinon l'URL de la ressource : {@code file:} depuis les classes
+ * compilées, mais {@code jar:...!/hibernate-cache.conf} une fois l'application
+ * empaquetée, que Caffeine ignore ; les régions manquent et le démarrage échoue.
+ */
+public class ClasspathJCacheRegionFactory extends JCacheRegionFactory {
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        Object uri = properties.get(ConfigSettings.CONFIG_URI);
+        return uri == null ? super.getUri(settings, properties) : URI.create("classpath:" + uri);
+    }
+}
@@ -0,0 +1,27 @@
+package ch.hearc.jee_project.pointsinterettouristiques.config;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+
+/**
+ * Dialecte H2 qui trie par colonne plutôt que par position dans la sélection
+ * ({@code order by p1_0.status, p1_0.name} au lieu de {@code order by 9, 2}).
+ * L'optimiseur de H2 ne rapproche pas un tri par position des index : il
+ * choisirait un index du statut quelconque puis trierait tous les lieux du statut,
+ * au lieu de lire la page dans l'ordre de l'index (statut, nom).
+ */
+public class IndexSortedH2Dialect extends H2Dialect {
+
+    public IndexSortedH2Dialect() {
+        super();
+    }
+
+    public IndexSortedH2Dialect(DialectResolutionInfo info) {
+        super(info);
+    }
+
+    @Override
+    public boolean supportsOrdinalSelectItemReference() {
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+package ch.hearc.jee_project.pointsinterettouristiques.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Nouvelles tentatives sur conflit. L'intercepteur est placé autour du cache et
+ * de la transaction : chaque tentative s'exécute dans une transaction neuve.
+ */
+@Configuration
+@EnableRetry(order = Ordered.LOWEST_PRECEDENCE - 2)
+public class RetryConfig {
+}
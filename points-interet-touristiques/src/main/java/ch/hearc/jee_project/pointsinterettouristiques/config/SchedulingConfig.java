@@ -0,0 +1,13 @@
+package ch.hearc.jee_project.pointsinterettouristiques.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tâches périodiques : synchronisation des index en mémoire avec les écritures
+ * des autres instances (places.indexes.sync-interval).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package ch.hearc.jee_project.pointsinterettouristiques.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -7,7 +8,9 @@ import org.springframework.security.web.SecurityFilterChain;
 
 
 
+// Uniquement en mode web : l'import en ligne de commande démarre sans serveur
 @Configuration
+@ConditionalOnWebApplication
 public class SecurityConfig {
 
     @Bean
@@ -1,33 +1,71 @@
 package ch.hearc.jee_project.pointsinterettouristiques.controller;
 
+import ch.hearc.jee_project.pointsinterettouristiques.dto.CursorSlice;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ImportReport;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ModerationReport;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ModerationRequest;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceCluster;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceMarker;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceRevision;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingResult;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingSubmission;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.UserIdentity;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.BoundingBox;
+import ch.hearc.jee_project.pointsinterettouristiques.leaderboard.PlaceLeaderboards;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
-import ch.hearc.jee_project.pointsinterettouristiques.model.User;
 import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.search.PlaceSearchIndex;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceCursor;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceExportService;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceImportService;
 import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceService;
-import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceVersions;
+import ch.hearc.jee_project.pointsinterettouristiques.service.UserService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/places")
 public class PlaceController {
 
-    private final PlaceService placeService;
-    private final UserRepository userRepository;
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    // Zoom maximal des fonds de carte usuels (tuiles 256 px)
+    private static final int MAX_ZOOM = 22;
 
-    public PlaceController(PlaceService placeService, UserRepository userRepository) {
+    private final PlaceService placeService;
+    private final UserService userService;
+    private final PlaceImportService placeImportService;
+    private final PlaceExportService placeExportService;
+    private final PlaceVersions placeVersions;
+
+    public PlaceController(PlaceService placeService, UserService userService,
+                           PlaceImportService placeImportService, PlaceExportService placeExportService,
+                           PlaceVersions placeVersions) {
         this.placeService = placeService;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.placeImportService = placeImportService;
+        this.placeExportService = placeExportService;
+        this.placeVersions = placeVersions;
     }
 
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
@@ -37,17 +75,17 @@ public class PlaceController {
         }
     }
 
+    // Vérifie le rôle depuis le cache des identités (pas d'accès base sur le chemin chaud)
     private void authorizeAdmin(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        if (user.getRole() != Role.ADMIN) {
+        UserIdentity user = userService.getIdentity(userId);
+        if (user.role() != Role.ADMIN) {
             throw new UnauthorizedAccessException("Unauthorized access");
         }
     }
 
     // Récupérer tous les lieux (admin)
     @GetMapping
-    public ResponseEntity<List<Place>> getAllPlaces(@RequestParam Long userId) {
+    public ResponseEntity<List<PlaceSummary>> getAllPlaces(@RequestParam Long userId) {
         authorizeAdmin(userId);
         return ResponseEntity.ok(placeService.getAllPlaces());
     }
@@ -59,18 +97,83 @@ public class PlaceController {
         return new ResponseEntity<>(savedPlace, HttpStatus.CREATED);
     }
 
-    // Récupérer un lieu par ID (admin peut tout voir, user seulement lieux publiés)
+    // Import en masse (admin) : corps CSV (text/csv) ou JSON (tableau ou NDJSON), lu en flux.
+    // JSON mal formé : 400 avec le rapport (position de l'erreur, lieux déjà importés)
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReport> importPlaces(
+            @RequestParam Long userId,
+            @RequestParam(value = "status", defaultValue = "UNVALIDATED") ValidationStatus status,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        authorizeAdmin(userId);
+        PlaceImportService.Format format = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? PlaceImportService.Format.CSV
+                : PlaceImportService.Format.JSON;
+        try {
+            return ResponseEntity.ok(placeImportService.importPlaces(body, format, status));
+        } catch (PlaceImportService.MalformedImportException ex) {
+            return ResponseEntity.badRequest().body(ex.getReport());
+        }
+    }
+
+    // Export NDJSON de tous les lieux, ou de ceux des statuts demandés (admin)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPlaces(
+            @RequestParam Long userId,
+            @RequestParam(value = "status", required = false) List<ValidationStatus> statuses) {
+        authorizeAdmin(userId);
+        List<ValidationStatus> exported = statuses == null || statuses.isEmpty()
+                ? List.of(ValidationStatus.values())
+                : statuses;
+        return ndjson(output -> placeExportService.exportPlaces(exported, output));
+    }
+
+    // Export NDJSON des lieux validés
+    @GetMapping(value = "/validatedPlaces/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportValidatedPlaces() {
+        return ndjson(output -> placeExportService.exportPlaces(List.of(ValidationStatus.VALIDATED), output));
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Récupérer un lieu par ID (admin peut tout voir, user seulement lieux publiés).
+    // Existence, visibilité et version sont lues d'abord en base, sans charger le lieu : un ETag rejoué
+    // ne contourne ni le 404 ni le 401, et un ETag correspondant donne 304 sans charger le lieu.
     @GetMapping("/{id}")
-    public ResponseEntity<Place> getPlaceById(@PathVariable Long id, @RequestParam Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        Place place = placeService.getPlaceById(id);
-        if (user.getRole() == Role.ADMIN || place.getStatus() == ValidationStatus.VALIDATED) {
-            return ResponseEntity.ok(place);
+    public ResponseEntity<Place> getPlaceById(@PathVariable Long id, @RequestParam Long userId, WebRequest request) {
+        UserIdentity user = userService.getIdentity(userId);
+        Optional<PlaceRevision> revision = placeService.getPlaceRevision(id);
+        if (revision.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (user.role() != Role.ADMIN && revision.get().status() != ValidationStatus.VALIDATED) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (request.checkNotModified(placeVersions.placeEtag(id, revision.get()))) {
+            return null;
+        }
+        Place place = currentPlace(id, revision.get());
+        if (user.role() == Role.ADMIN || place.getStatus() == ValidationStatus.VALIDATED) {
+            return conditional(placeVersions.placeEtag(id, PlaceRevision.of(place))).body(place);
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
+    // Lieu au moins aussi récent que la révision lue en base : le cache local ignore les écritures
+    // des autres instances, un lieu en cache plus ancien est rechargé
+    private Place currentPlace(Long id, PlaceRevision revision) {
+        Place place = placeService.getPlaceById(id);
+        if (revision.isNewerThan(place)) {
+            placeVersions.evictPlace(id);
+            place = placeService.getPlaceById(id);
+        }
+        return place;
+    }
+
     // Mettre à jour un lieu (admin)
     @PutMapping("/{id}")
     public ResponseEntity<Place> updatePlace(@PathVariable Long id, @RequestParam Long userId, @RequestBody Place placeDetails) {
@@ -87,33 +190,137 @@ public class PlaceController {
         return ResponseEntity.notFound().build();
     }
 
-    // Récupérer tous les lieux validés
+    // Récupérer tous les lieux validés (ETag : version du catalogue)
     @GetMapping("/validatedPlaces")
-    public ResponseEntity<List<Place>> getValidatedPlaces() {
-        return ResponseEntity.ok(placeService.getPlacesByStatus(ValidationStatus.VALIDATED));
+    public ResponseEntity<List<PlaceSummary>> getValidatedPlaces(WebRequest request) {
+        String etag = placeVersions.catalogueEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return conditional(etag).body(placeService.getValidatedPlaces());
     }
 
     // Récupérer les lieux non validés (admin)
     @GetMapping("/unvalidatedPlaces")
-    public ResponseEntity<List<Place>> getUnvalidatedPlaces(@RequestParam Long userId) {
+    public ResponseEntity<List<PlaceSummary>> getUnvalidatedPlaces(@RequestParam Long userId) {
         authorizeAdmin(userId);
         return ResponseEntity.ok(placeService.getPlacesByStatus(ValidationStatus.UNVALIDATED));
     }
 
     // Récupérer les lieux refusés (admin)
     @GetMapping("/rejectedPlaces")
-    public ResponseEntity<List<Place>> getRejectedPlaces(@RequestParam Long userId) {
+    public ResponseEntity<List<PlaceSummary>> getRejectedPlaces(@RequestParam Long userId) {
         authorizeAdmin(userId);
         return ResponseEntity.ok(placeService.getPlacesByStatus(ValidationStatus.REJECTED));
     }
 
     // Récupérer les lieux non validés et refusés (admin)
     @GetMapping("/unvalidatedAndRejectedPlaces")
-    public ResponseEntity<List<Place>> getUnvalidatedAndRejectedPlaces(@RequestParam Long userId) {
+    public ResponseEntity<List<PlaceSummary>> getUnvalidatedAndRejectedPlaces(@RequestParam Long userId) {
         authorizeAdmin(userId);
         return ResponseEntity.ok(placeService.getPlacesByStatuses(List.of(ValidationStatus.UNVALIDATED, ValidationStatus.REJECTED)));
     }
 
+    // Recherche plein texte parmi les lieux validés (sans accents ni casse, classée par pertinence)
+    @GetMapping("/search")
+    public ResponseEntity<Page<PlaceSummary>> searchPlaces(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        if (query.isBlank() || page < 0 || size <= 0
+                || (long) (page + 1) * size > PlaceSearchIndex.MAX_RESULT_WINDOW) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(placeService.searchValidatedPlaces(query, PageRequest.of(page, size)));
+    }
+
+    // Meilleurs lieux validés (moyenne), tous ou d'une région (valeur du champ location, sans casse)
+    @GetMapping("/leaderboards/top")
+    public ResponseEntity<List<PlaceSummary>> getTopRatedPlaces(
+            @RequestParam(value = "region", required = false) String region,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > PlaceLeaderboards.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(placeService.getTopRatedPlaces(region, limit));
+    }
+
+    // Lieux validés les plus notés récemment
+    @GetMapping("/leaderboards/trending")
+    public ResponseEntity<List<PlaceSummary>> getTrendingPlaces(
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > PlaceLeaderboards.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(placeService.getTrendingPlaces(limit));
+    }
+
+    // Récupérer les lieux validés autour d'un point (rayon en km, au plus PlaceService.MAX_SEARCH_RADIUS_KM)
+    @GetMapping("/nearby")
+    public ResponseEntity<List<PlaceSummary>> getPlacesNearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusKm,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        if (!BoundingBox.isValidLatitude(lat) || !BoundingBox.isValidLongitude(lon)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(placeService.getValidatedPlacesNearby(lat, lon, radiusKm, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Récupérer les lieux validés dans un rectangle (minLon > maxLon : traverse l'antiméridien).
+    // Un rectangle trop grand pour les cellules geohash de la recherche est refusé
+    @GetMapping("/within")
+    public ResponseEntity<List<PlaceSummary>> getPlacesWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            BoundingBox box = new BoundingBox(minLat, minLon, maxLat, maxLon);
+            return ResponseEntity.ok(placeService.getValidatedPlacesWithin(box, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Marqueurs de carte des lieux validés dans un rectangle : id, nom, position et moyenne seulement.
+    // En JSON par défaut, en CBOR avec Accept: application/cbor.
+    @GetMapping("/markers")
+    public ResponseEntity<List<PlaceMarker>> getMarkersWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            BoundingBox box = new BoundingBox(minLat, minLon, maxLat, maxLon);
+            return ResponseEntity.ok(placeService.getValidatedMarkersWithin(box, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Regroupements des lieux validés pour les vues dézoomées : bbox "ouest,sud,est,nord", zoom de 0 à 22
+    @GetMapping("/clusters")
+    public ResponseEntity<List<PlaceCluster>> getClustersWithin(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(placeService.getValidatedClustersWithin(BoundingBox.parse(bbox), zoom));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Validation d'un lieu (admin)
     @PatchMapping("/{id}/validate")
     public ResponseEntity<Place> validatePlace(@PathVariable Long id, @RequestParam Long userId) {
@@ -128,6 +335,26 @@ public class PlaceController {
         return ResponseEntity.ok(placeService.rejectPlace(id));
     }
 
+    // Validation en masse (admin) : liste d'identifiants ou tous les lieux d'un statut
+    @PatchMapping("/validate")
+    public ResponseEntity<ModerationReport> validatePlaces(@RequestParam Long userId, @RequestBody ModerationRequest request) {
+        return moderatePlaces(userId, request, ValidationStatus.VALIDATED);
+    }
+
+    // Rejet en masse (admin)
+    @PatchMapping("/reject")
+    public ResponseEntity<ModerationReport> rejectPlaces(@RequestParam Long userId, @RequestBody ModerationRequest request) {
+        return moderatePlaces(userId, request, ValidationStatus.REJECTED);
+    }
+
+    private ResponseEntity<ModerationReport> moderatePlaces(Long userId, ModerationRequest request, ValidationStatus status) {
+        authorizeAdmin(userId);
+        if (!request.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(placeService.moderatePlaces(request, status));
+    }
+
     // Met une note à un lieu (1-10)
     @PostMapping("/{id}/rate")
     public ResponseEntity<Void> ratePlace(@PathVariable Long id, @RequestParam Long userId, @RequestParam int rating) {
@@ -146,24 +373,54 @@ public class PlaceController {
         }
     }
 
+    // Envoi groupé de notes (file d'attente hors ligne) : un résultat par note, dans l'ordre d'envoi
+    @PostMapping("/ratings")
+    public ResponseEntity<List<RatingResult>> ratePlaces(@RequestBody List<RatingSubmission> submissions) {
+        if (submissions.isEmpty() || submissions.size() > PlaceService.MAX_RATING_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(placeService.ratePlaces(submissions));
+    }
+
     // Récupère les notes d'un lieu
     @GetMapping("/{id}/ratings")
-    public ResponseEntity<List<Integer>> getRatings(@PathVariable Long id) {
-        Place place = placeService.getPlaceById(id);
-        return ResponseEntity.ok(new ArrayList<>(place.getRatings().values()));
+    public ResponseEntity<List<Integer>> getRatings(@PathVariable Long id, WebRequest request) {
+        Optional<PlaceRevision> revision = placeService.getPlaceRevision(id);
+        if (revision.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(placeVersions.placeEtag(id, revision.get()))) {
+            return null;
+        }
+        Place place = currentPlace(id, revision.get());
+        return conditional(placeVersions.placeEtag(id, PlaceRevision.of(place)))
+                .body(new ArrayList<>(place.getRatings().values()));
     }
 
 
-    // Endpoint pour voir la moyenne des notes
+    // Endpoint pour voir la moyenne des notes (même version que les notes dont elle est tirée)
     @GetMapping("/{id}/average-rating")
-    public ResponseEntity<Double> getAverageRating(@PathVariable Long id) {
-        double averageRating = placeService.getAverageRating(id);
-        return ResponseEntity.ok(averageRating);
+    public ResponseEntity<Double> getAverageRating(@PathVariable Long id, WebRequest request) {
+        Optional<PlaceRevision> revision = placeService.getPlaceRevision(id);
+        if (revision.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(placeVersions.placeEtag(id, revision.get()))) {
+            return null;
+        }
+        Place place = currentPlace(id, revision.get());
+        return conditional(placeVersions.placeEtag(id, PlaceRevision.of(place))).body(place.getAverageRating());
+    }
+
+    // Réponse revalidable : le client garde le corps et renvoie l'ETag dans If-None-Match.
+    // L'ETag (faible) vaut pour toutes les représentations de la même version, JSON ou CBOR.
+    private static ResponseEntity.BodyBuilder conditional(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT);
     }
 
     // Endpoint : Récupérer les lieux validés avec pagination
     @GetMapping("/validatedPlaces/paginated")
-    public ResponseEntity<Page<Place>> getValidatedPlacesPaginated(
+    public ResponseEntity<Page<PlaceSummary>> getValidatedPlacesPaginated(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
             @RequestParam(value = "sort", defaultValue = "name,asc") String sort) {
@@ -181,34 +438,89 @@ public class PlaceController {
         Sort sortBy = Sort.by(direction, sortParams[0]);
 
         Pageable pageable = PageRequest.of(page, size, sortBy);
-        Page<Place> validatedPlaces = placeService.getValidatedPlaces(pageable);
+        Page<PlaceSummary> validatedPlaces = placeService.getValidatedPlaces(pageable);
         return ResponseEntity.ok(validatedPlaces);
     }
 
 
     // Endpoint : Récupérer les lieux non validés avec pagination
     @GetMapping("/unvalidatedPlaces/paginated")
-    public ResponseEntity<Page<Place>> getUnvalidatedPlacesPaginated(
+    public ResponseEntity<Page<PlaceSummary>> getUnvalidatedPlacesPaginated(
             @PageableDefault(size = 10, sort = "name") Pageable pageable) {
-        Page<Place> unvalidatedPlaces = placeService.getUnvalidatedPlaces(pageable);
+        Page<PlaceSummary> unvalidatedPlaces = placeService.getUnvalidatedPlaces(pageable);
         return ResponseEntity.ok(unvalidatedPlaces);
     }
 
     // Endpoint : Récupérer les lieux rejetés avec pagination
     @GetMapping("/rejectedPlaces/paginated")
-    public ResponseEntity<Page<Place>> getRejectedPlacesPaginated(
+    public ResponseEntity<Page<PlaceSummary>> getRejectedPlacesPaginated(
             @PageableDefault(size = 10, sort = "name") Pageable pageable) {
-        Page<Place> rejectedPlaces = placeService.getRejectedPlaces(pageable);
+        Page<PlaceSummary> rejectedPlaces = placeService.getRejectedPlaces(pageable);
         return ResponseEntity.ok(rejectedPlaces);
     }
 
     // Endpoint : Récupérer les lieux non validés et rejetés avec pagination
     @GetMapping("/unvalidatedAndRejectedPlaces/paginated")
-    public ResponseEntity<Page<Place>> getUnvalidatedAndRejectedPlacesPaginated(
+    public ResponseEntity<Page<PlaceSummary>> getUnvalidatedAndRejectedPlacesPaginated(
             @PageableDefault(size = 10, sort = "name") Pageable pageable) {
-        Page<Place> places = placeService.getUnvalidatedAndRejectedPlaces(
+        Page<PlaceSummary> places = placeService.getUnvalidatedAndRejectedPlaces(
                 List.of(ValidationStatus.UNVALIDATED, ValidationStatus.REJECTED), pageable);
         return ResponseEntity.ok(places);
     }
 
+    // Endpoint : Récupérer les lieux validés par curseur (pagination par clé)
+    @GetMapping("/validatedPlaces/cursor")
+    public ResponseEntity<CursorSlice<PlaceSummary>> getValidatedPlacesByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "name,asc") String sort) {
+        return getPlacesByCursor(List.of(ValidationStatus.VALIDATED), cursor, size, sort);
+    }
+
+    // Endpoint : Récupérer les lieux non validés par curseur
+    @GetMapping("/unvalidatedPlaces/cursor")
+    public ResponseEntity<CursorSlice<PlaceSummary>> getUnvalidatedPlacesByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "name,asc") String sort) {
+        return getPlacesByCursor(List.of(ValidationStatus.UNVALIDATED), cursor, size, sort);
+    }
+
+    // Endpoint : Récupérer les lieux rejetés par curseur
+    @GetMapping("/rejectedPlaces/cursor")
+    public ResponseEntity<CursorSlice<PlaceSummary>> getRejectedPlacesByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "name,asc") String sort) {
+        return getPlacesByCursor(List.of(ValidationStatus.REJECTED), cursor, size, sort);
+    }
+
+    // Endpoint : Récupérer les lieux non validés et rejetés par curseur
+    @GetMapping("/unvalidatedAndRejectedPlaces/cursor")
+    public ResponseEntity<CursorSlice<PlaceSummary>> getUnvalidatedAndRejectedPlacesByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "name,asc") String sort) {
+        return getPlacesByCursor(List.of(ValidationStatus.UNVALIDATED, ValidationStatus.REJECTED), cursor, size, sort);
+    }
+
+    private ResponseEntity<CursorSlice<PlaceSummary>> getPlacesByCursor(List<ValidationStatus> statuses, String cursor, int size, String sort) {
+        if (size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String[] sortParams = sort.split(",");
+        if (sortParams.length != 2 || !PlaceCursor.SORTABLE_PROPERTIES.contains(sortParams[0])
+                || (!sortParams[1].equalsIgnoreCase("asc") && !sortParams[1].equalsIgnoreCase("desc"))) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort.Order order = new Sort.Order(Sort.Direction.fromString(sortParams[1]), sortParams[0]);
+
+        try {
+            return ResponseEntity.ok(placeService.getPlacesByCursor(statuses, cursor, size, order));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
 }
@@ -1,7 +1,7 @@
 package ch.hearc.jee_project.pointsinterettouristiques.controller;
 
 import ch.hearc.jee_project.pointsinterettouristiques.model.User;
-import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -10,26 +10,26 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/users")
 public class UserController {
 
-    private final UserRepository userRepository;
+    private final UserService userService;
 
-    public UserController(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserController(UserService userService) {
+        this.userService = userService;
     }
 
     // Créer un user
     @PostMapping
     public ResponseEntity<User> createUser(@RequestBody User user) {
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
+        if (userService.usernameExists(user.getUsername())) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        User savedUser = userRepository.save(user);
+        User savedUser = userService.createUser(user);
         return ResponseEntity.ok(savedUser);
     }
 
     // Supprimer tous les users
     @DeleteMapping("/all")
     public ResponseEntity<Void> deleteAllUsers() {
-        userRepository.deleteAll();
+        userService.deleteAllUsers();
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,10 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+import java.util.List;
+
+/**
+ * Tranche de résultats paginée par curseur : pas de requête count(*), et
+ * {@code nextCursor} (opaque) permet de demander la tranche suivante.
+ */
+public record CursorSlice<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+import java.util.List;
+
+/**
+ * Résultat d'un import en masse. Seules les premières erreurs sont conservées
+ * pour que la mémoire reste constante quelle que soit la taille du fichier.
+ */
+public record ImportReport(long imported, long rejected, int batches, List<String> errors) {
+}
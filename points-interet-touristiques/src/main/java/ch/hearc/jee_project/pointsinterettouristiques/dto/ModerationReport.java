@@ -0,0 +1,10 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+import java.util.List;
+
+/**
+ * Résultat d'une modération en masse : nombre de lieux dont le statut a changé
+ * et identifiants demandés qui n'existent pas.
+ */
+public record ModerationReport(long updated, List<Long> notFound) {
+}
@@ -0,0 +1,18 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+
+import java.util.List;
+
+/**
+ * Sélection des lieux à modérer en masse : une liste d'identifiants, ou tous
+ * les lieux d'un statut (par exemple toute la file des lieux non validés).
+ */
+public record ModerationRequest(List<Long> ids, ValidationStatus status) {
+
+    // Exactement un des deux critères doit être renseigné
+    public boolean isValid() {
+        boolean byIds = ids != null && !ids.isEmpty();
+        return byIds != (status != null);
+    }
+}
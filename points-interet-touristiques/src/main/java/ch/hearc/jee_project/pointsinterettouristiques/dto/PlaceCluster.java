@@ -0,0 +1,9 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+/**
+ * Regroupement des lieux validés d'une cellule geohash pour les vues de carte
+ * dézoomées : nombre de lieux, barycentre et lieu le mieux noté de la cellule.
+ */
+public record PlaceCluster(String geohash, long count, double latitude, double longitude,
+                           PlaceMarker representative) {
+}
@@ -0,0 +1,7 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+/**
+ * Ligne d'un fichier d'import de lieux (CSV ou JSON), avant validation.
+ */
+public record PlaceImportRow(String name, String description, String location, Double latitude, Double longitude) {
+}
@@ -0,0 +1,12 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+/**
+ * Marqueur de carte : le strict nécessaire pour afficher un lieu sur une tuile.
+ * Le détail (description, notes) se charge au clic via /api/places/{id}.
+ */
+public record PlaceMarker(Long id, String name, double latitude, double longitude, double averageRating) {
+
+    public static PlaceMarker from(PlaceSummary place) {
+        return new PlaceMarker(place.id(), place.name(), place.latitude(), place.longitude(), place.averageRating());
+    }
+}
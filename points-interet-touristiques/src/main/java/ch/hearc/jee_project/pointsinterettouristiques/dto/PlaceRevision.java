@@ -0,0 +1,21 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+
+/**
+ * Statut et versions persistées d'un lieu, lus sans charger le lieu : visibilité
+ * et ETag des requêtes conditionnelles. La version change à chaque modification
+ * ou modération, la version des notes à chaque vote.
+ */
+public record PlaceRevision(ValidationStatus status, long version, long ratingVersion) {
+
+    public static PlaceRevision of(Place place) {
+        return new PlaceRevision(place.getStatus(), place.getVersion(), place.getRatingVersion());
+    }
+
+    // Le lieu donné (en cache, par exemple) précède cette révision
+    public boolean isNewerThan(Place place) {
+        return version > place.getVersion() || ratingVersion > place.getRatingVersion();
+    }
+}
@@ -0,0 +1,19 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+
+/**
+ * Projection d'un lieu pour les listes : toutes les colonnes de la table place,
+ * sans la collection des notes (chargée uniquement pour le détail d'un lieu).
+ */
+public record PlaceSummary(Long id, String name, String description, String location,
+                           double latitude, double longitude, double averageRating,
+                           long ratingCount, ValidationStatus status) {
+
+    public static PlaceSummary from(Place place) {
+        return new PlaceSummary(place.getId(), place.getName(), place.getDescription(), place.getLocation(),
+                place.getLatitude(), place.getLongitude(), place.getAverageRating(),
+                place.getRatingCount(), place.getStatus());
+    }
+}
@@ -0,0 +1,19 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+/**
+ * Résultat d'une note d'un lot, dans le même ordre que les notes envoyées.
+ */
+public record RatingResult(Long placeId, Long userId, Outcome outcome) {
+
+    public enum Outcome {
+        APPLIED,
+        INVALID_RATING,
+        USER_NOT_FOUND,
+        PLACE_NOT_FOUND,
+        PLACE_NOT_VALIDATED
+    }
+
+    public static RatingResult of(RatingSubmission submission, Outcome outcome) {
+        return new RatingResult(submission.placeId(), submission.userId(), outcome);
+    }
+}
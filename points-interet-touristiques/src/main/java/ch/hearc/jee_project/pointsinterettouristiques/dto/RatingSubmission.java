@@ -0,0 +1,7 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+/**
+ * Une note envoyée dans un lot (file d'attente hors ligne de l'application mobile).
+ */
+public record RatingSubmission(Long placeId, Long userId, Integer rating) {
+}
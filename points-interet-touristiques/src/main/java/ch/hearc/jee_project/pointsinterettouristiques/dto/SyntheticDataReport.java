@@ -0,0 +1,7 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+/**
+ * Résultat d'une génération de données synthétiques.
+ */
+public record SyntheticDataReport(int users, long places, long ratings, int batches) {
+}
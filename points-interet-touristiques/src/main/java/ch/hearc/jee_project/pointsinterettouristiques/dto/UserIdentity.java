@@ -0,0 +1,10 @@
+package ch.hearc.jee_project.pointsinterettouristiques.dto;
+
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+
+/**
+ * Identité d'un utilisateur utilisée pour les autorisations (sans mot de passe),
+ * mise en cache pour ne pas interroger la base à chaque appel.
+ */
+public record UserIdentity(Long id, String username, Role role) {
+}
@@ -0,0 +1,91 @@
+package ch.hearc.jee_project.pointsinterettouristiques.geo;
+
+/**
+ * Rectangle géographique (en degrés). Si {@code minLongitude > maxLongitude},
+ * le rectangle traverse l'antiméridien (±180°).
+ */
+public record BoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public BoundingBox {
+        if (!isValidLatitude(minLatitude) || !isValidLatitude(maxLatitude) || minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("Invalid latitude range");
+        }
+        if (!isValidLongitude(minLongitude) || !isValidLongitude(maxLongitude)) {
+            throw new IllegalArgumentException("Invalid longitude range");
+        }
+    }
+
+    // Format bbox usuel des clients cartographiques : "ouest,sud,est,nord" (minLon,minLat,maxLon,maxLat)
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid bbox: " + bbox);
+        }
+        return new BoundingBox(Double.parseDouble(parts[1].strip()), Double.parseDouble(parts[0].strip()),
+                Double.parseDouble(parts[3].strip()), Double.parseDouble(parts[2].strip()));
+    }
+
+    // Plus petit rectangle contenant le cercle de rayon radiusKm autour du point
+    public static BoundingBox around(double latitude, double longitude, double radiusKm) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double latDelta = Math.toDegrees(angularRadius);
+        double minLat = latitude - latDelta;
+        double maxLat = latitude + latDelta;
+
+        // Le cercle contient un pôle : toutes les longitudes sont concernées
+        if (minLat <= -90 || maxLat >= 90 || angularRadius >= Math.PI / 2) {
+            return new BoundingBox(Math.max(minLat, -90), -180, Math.min(maxLat, 90), 180);
+        }
+
+        double lonDelta = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude))));
+        if (lonDelta >= 180) {
+            return new BoundingBox(minLat, -180, maxLat, 180);
+        }
+        return new BoundingBox(minLat, normalizeLongitude(longitude - lonDelta),
+                maxLat, normalizeLongitude(longitude + lonDelta));
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        if (crossesAntimeridian()) {
+            return longitude >= minLongitude || longitude <= maxLongitude;
+        }
+        return longitude >= minLongitude && longitude <= maxLongitude;
+    }
+
+    // Distance orthodromique (formule de haversine)
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static boolean isValidLatitude(double latitude) {
+        return latitude >= -90 && latitude <= 90;
+    }
+
+    public static boolean isValidLongitude(double longitude) {
+        return longitude >= -180 && longitude <= 180;
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+}
@@ -0,0 +1,155 @@
+package ch.hearc.jee_project.pointsinterettouristiques.geo;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Encodage geohash (base 32) des coordonnées. Deux points proches partagent un
+ * préfixe commun : une recherche par préfixe sur une colonne indexée devient un
+ * simple parcours de plage d'index.
+ */
+public final class GeoHash {
+
+    static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    // Précision stockée en base (~3.7cm x 1.9cm)
+    public static final int MAX_PRECISION = 12;
+
+    // Précision maximale utilisée pour les recherches par préfixe (~38m x 19m)
+    public static final int MAX_SEARCH_PRECISION = 8;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid geohash precision: " + precision);
+        }
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLon = mid;
+                } else {
+                    index <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLat = mid;
+                } else {
+                    index <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[index]);
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // Hauteur d'une cellule en degrés de latitude
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << latitudeBits(precision));
+    }
+
+    // Largeur d'une cellule en degrés de longitude
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << longitudeBits(precision));
+    }
+
+    /**
+     * Précision de regroupement pour un niveau de zoom de carte (tuiles de 256 px) :
+     * la plus fine dont les cellules font encore au moins un quart de tuile de large,
+     * bornée à {@link #MAX_SEARCH_PRECISION}.
+     */
+    public static int precisionForZoom(int zoom) {
+        int precision = 1;
+        while (precision < MAX_SEARCH_PRECISION && longitudeBits(precision + 1) <= zoom + 2) {
+            precision++;
+        }
+        return precision;
+    }
+
+    /**
+     * Cellules couvrant le rectangle, à la précision la plus fine qui reste sous
+     * {@code maxCells} cellules (au minimum la précision 1).
+     */
+    public static Set<String> coveringCells(BoundingBox box, int maxCells) {
+        int precision = MAX_SEARCH_PRECISION;
+        while (precision > 1 && countCells(box, precision) > maxCells) {
+            precision--;
+        }
+        return cellsAt(box, precision);
+    }
+
+    public static Set<String> cellsAt(BoundingBox box, int precision) {
+        Set<String> cells = new LinkedHashSet<>();
+        if (box.crossesAntimeridian()) {
+            addCells(cells, box.minLatitude(), box.maxLatitude(), box.minLongitude(), 180, precision);
+            addCells(cells, box.minLatitude(), box.maxLatitude(), -180, box.maxLongitude(), precision);
+        } else {
+            addCells(cells, box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude(), precision);
+        }
+        return cells;
+    }
+
+    static long countCells(BoundingBox box, int precision) {
+        long rows = span(box.minLatitude(), box.maxLatitude(), -90, cellHeight(precision), latitudeBits(precision));
+        if (box.crossesAntimeridian()) {
+            return rows * (span(box.minLongitude(), 180, -180, cellWidth(precision), longitudeBits(precision))
+                    + span(-180, box.maxLongitude(), -180, cellWidth(precision), longitudeBits(precision)));
+        }
+        return rows * span(box.minLongitude(), box.maxLongitude(), -180, cellWidth(precision), longitudeBits(precision));
+    }
+
+    private static void addCells(Set<String> cells, double minLat, double maxLat, double minLon, double maxLon, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        long firstRow = cellIndex(minLat, -90, height, latitudeBits(precision));
+        long lastRow = cellIndex(maxLat, -90, height, latitudeBits(precision));
+        long firstColumn = cellIndex(minLon, -180, width, longitudeBits(precision));
+        long lastColumn = cellIndex(maxLon, -180, width, longitudeBits(precision));
+
+        // On encode le centre de chaque cellule pour obtenir son préfixe
+        for (long row = firstRow; row <= lastRow; row++) {
+            double centerLat = -90 + (row + 0.5) * height;
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                double centerLon = -180 + (column + 0.5) * width;
+                cells.add(encode(centerLat, centerLon, precision));
+            }
+        }
+    }
+
+    private static long span(double min, double max, double origin, double cellSize, int bits) {
+        return cellIndex(max, origin, cellSize, bits) - cellIndex(min, origin, cellSize, bits) + 1;
+    }
+
+    private static long cellIndex(double value, double origin, double cellSize, int bits) {
+        long index = (long) Math.floor((value - origin) / cellSize);
+        return Math.max(0, Math.min(index, (1L << bits) - 1));
+    }
+
+    private static int latitudeBits(int precision) {
+        return (5 * precision) / 2;
+    }
+
+    private static int longitudeBits(int precision) {
+        return (5 * precision + 1) / 2;
+    }
+}
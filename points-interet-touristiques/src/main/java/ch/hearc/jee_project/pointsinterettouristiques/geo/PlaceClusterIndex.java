@@ -0,0 +1,175 @@
+package ch.hearc.jee_project.pointsinterettouristiques.geo;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceCluster;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceMarker;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.leaderboard.PlaceLeaderboards;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceChangedEvent;
+import ch.hearc.jee_project.pointsinterettouristiques.service.SingleWriterIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Agrégats des lieux validés par cellule geohash, pour chaque précision de 1 à
+ * {@link GeoHash#MAX_SEARCH_PRECISION} : nombre de lieux, somme des coordonnées
+ * et lieu le mieux noté. Reconstruits depuis la base au démarrage, puis tenus à
+ * jour par les {@link PlaceChangedEvent}, appliqués dans l'ordre par un rédacteur
+ * unique ({@link SingleWriterIndex}) : une requête de regroupement ne lit que
+ * les cellules du rectangle demandé, sans parcourir les lieux.
+ */
+@Component
+public class PlaceClusterIndex extends SingleWriterIndex<PlaceClusterIndex.Index> {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceClusterIndex.class);
+
+    // Au-delà, la précision demandée est trop fine pour la taille du rectangle
+    public static final int MAX_CELLS = 4096;
+
+    private static final int LEAF_PRECISION = GeoHash.MAX_SEARCH_PRECISION;
+
+    private final PlaceRepository placeRepository;
+
+    public PlaceClusterIndex(PlaceRepository placeRepository, PlatformTransactionManager transactionManager) {
+        super("place-clusters", placeRepository, transactionManager, new Index());
+        this.placeRepository = placeRepository;
+    }
+
+    /**
+     * Regroupements des cellules de précision {@code precision} qui intersectent le
+     * rectangle. Une cellule au bord du rectangle compte aussi ses lieux situés hors
+     * du rectangle : les regroupements restent stables d'une vue à l'autre.
+     */
+    public List<PlaceCluster> clusters(BoundingBox box, int precision) {
+        if (GeoHash.countCells(box, precision) > MAX_CELLS) {
+            throw new IllegalArgumentException("Too many cells for bbox at precision " + precision);
+        }
+        Map<String, Cell> level = state().cells.get(precision - 1);
+        List<PlaceCluster> clusters = new ArrayList<>();
+        for (String geohash : GeoHash.cellsAt(box, precision)) {
+            Cell cell = level.get(geohash);
+            if (cell != null) {
+                clusters.add(new PlaceCluster(geohash, cell.count(), cell.latitudeSum() / cell.count(),
+                        cell.longitudeSum() / cell.count(), PlaceMarker.from(cell.representative())));
+            }
+        }
+        return clusters;
+    }
+
+    @Override
+    protected Index build(Index previous) {
+        Index fresh = new Index();
+        try (Stream<PlaceSummary> places = placeRepository.streamSummariesByStatusInOrderByIdAsc(
+                List.of(ValidationStatus.VALIDATED))) {
+            places.forEach(place -> fresh.update(place.id(), place));
+        }
+        log.info("Regroupements reconstruits : {} lieux, {} cellules", fresh.indexed.size(),
+                fresh.cells.get(LEAF_PRECISION - 1).size());
+        return fresh;
+    }
+
+    // Relecture des lieux touchés (validation, déplacement, note, suppression)
+    @Override
+    protected void apply(Index current, PlaceChangedEvent event, long now) {
+        Set<Long> missing = new HashSet<>(event.placeIds());
+        if (event.change() != PlaceChangedEvent.Change.DELETED) {
+            for (PlaceSummary place : placeRepository.findSummariesByIdIn(event.placeIds())) {
+                missing.remove(place.id());
+                current.update(place.id(), place);
+            }
+        }
+        for (Long id : missing) {
+            current.update(id, null);
+        }
+    }
+
+    private static PlaceSummary bestChild(String geohash, Map<String, Cell> children) {
+        PlaceSummary best = null;
+        for (char c : GeoHash.BASE32) {
+            Cell child = children.get(geohash + c);
+            if (child != null && (best == null || PlaceLeaderboards.BY_RATING.compare(child.representative(), best) < 0)) {
+                best = child.representative();
+            }
+        }
+        return best;
+    }
+
+    private static String leafOf(PlaceSummary place) {
+        return GeoHash.encode(place.latitude(), place.longitude(), LEAF_PRECISION);
+    }
+
+    record Cell(long count, double latitudeSum, double longitudeSum, PlaceSummary representative) {
+    }
+
+    // Résumé courant de chaque lieu indexé, lieux de chaque cellule de la précision la plus fine, et
+    // cells.get(p - 1) : cellules non vides de précision p. Modifiés par le seul rédacteur ; les cellules
+    // sont immuables et remplacées à chaque écriture : les lectures se font sans verrou.
+    static final class Index {
+
+        private final Map<Long, PlaceSummary> indexed = new HashMap<>();
+        private final Map<String, Map<Long, PlaceSummary>> leaves = new HashMap<>();
+        private final List<Map<String, Cell>> cells = new ArrayList<>();
+
+        Index() {
+            for (int precision = 1; precision <= LEAF_PRECISION; precision++) {
+                cells.add(new ConcurrentHashMap<>());
+            }
+        }
+
+        // Retire l'ancien état du lieu puis ajoute le nouveau ; null ou non validé : le lieu sort de l'index
+        void update(Long id, PlaceSummary place) {
+            PlaceSummary previous = indexed.remove(id);
+            if (previous != null) {
+                String leaf = leafOf(previous);
+                Map<Long, PlaceSummary> members = leaves.get(leaf);
+                members.remove(id);
+                if (members.isEmpty()) {
+                    leaves.remove(leaf);
+                }
+                apply(leaf, previous, -1);
+            }
+            if (place != null && place.status() == ValidationStatus.VALIDATED) {
+                indexed.put(id, place);
+                String leaf = leafOf(place);
+                leaves.computeIfAbsent(leaf, key -> new HashMap<>()).put(id, place);
+                apply(leaf, place, 1);
+            }
+        }
+
+        // Met à jour les agrégats de la feuille jusqu'à la racine. Le représentant d'une feuille est le meilleur
+        // de ses lieux ; celui d'une cellule parente, le meilleur des représentants de ses 32 sous-cellules.
+        private void apply(String leaf, PlaceSummary place, int sign) {
+            PlaceSummary best = leaves.getOrDefault(leaf, Map.of()).values().stream()
+                    .min(PlaceLeaderboards.BY_RATING).orElse(null);
+            for (int precision = LEAF_PRECISION; precision >= 1; precision--) {
+                String geohash = leaf.substring(0, precision);
+                Map<String, Cell> level = cells.get(precision - 1);
+                if (precision < LEAF_PRECISION) {
+                    best = bestChild(geohash, cells.get(precision));
+                }
+                Cell previous = level.get(geohash);
+                long count = (previous == null ? 0 : previous.count()) + sign;
+                if (count == 0) {
+                    level.remove(geohash);
+                } else {
+                    level.put(geohash, new Cell(count,
+                            (previous == null ? 0 : previous.latitudeSum()) + sign * place.latitude(),
+                            (previous == null ? 0 : previous.longitudeSum()) + sign * place.longitude(),
+                            best));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package ch.hearc.jee_project.pointsinterettouristiques.leaderboard;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceChangedEvent;
+import ch.hearc.jee_project.pointsinterettouristiques.service.SingleWriterIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Classements des lieux validés tenus en mémoire : meilleures moyennes (global et
+ * par région, c'est-à-dire par valeur du champ location) et tendance (activité de
+ * notation récente, à décroissance exponentielle). Reconstruits depuis la base au
+ * démarrage, puis tenus à jour par les {@link PlaceChangedEvent}, appliqués dans
+ * l'ordre par un rédacteur unique ({@link SingleWriterIndex}). Les classements
+ * sont des listes à enjambements triées : lire les N premiers coûte O(N), sans tri.
+ * Les votes des autres instances entrent dans la tendance à la synchronisation
+ * suivante, pour un vote par lieu et par synchronisation au plus.
+ */
+@Component
+public class PlaceLeaderboards extends SingleWriterIndex<PlaceLeaderboards.Rankings> {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceLeaderboards.class);
+
+    public static final int MAX_LIMIT = 100;
+
+    // En dessous (environ un vote vieux de plus de trois demi-vies), un lieu ne compte plus comme tendance
+    static final double MIN_TREND_SCORE = 0.1;
+
+    // Meilleure moyenne d'abord ; à moyenne égale, le plus de votes, puis le plus ancien
+    public static final Comparator<PlaceSummary> BY_RATING = Comparator
+            .comparingDouble(PlaceSummary::averageRating).reversed()
+            .thenComparing(Comparator.comparingLong(PlaceSummary::ratingCount).reversed())
+            .thenComparing(PlaceSummary::id);
+
+    private final PlaceRepository placeRepository;
+    private final int minRatings;
+
+    // Décroissance par milliseconde : le poids d'un vote est divisé par deux à chaque demi-vie
+    private final double decayPerMilli;
+    private final long origin = System.currentTimeMillis();
+
+    public PlaceLeaderboards(PlaceRepository placeRepository, PlatformTransactionManager transactionManager,
+                             @Value("${places.leaderboards.min-ratings:1}") int minRatings,
+                             @Value("${places.leaderboards.trending-half-life:24h}") Duration trendingHalfLife) {
+        super("place-leaderboards", placeRepository, transactionManager, new Rankings(minRatings));
+        this.placeRepository = placeRepository;
+        this.minRatings = minRatings;
+        this.decayPerMilli = Math.log(2) / trendingHalfLife.toMillis();
+    }
+
+    // Meilleures moyennes parmi les lieux validés ayant assez de votes, globalement ou dans une région
+    public List<PlaceSummary> topRated(String region, int limit) {
+        Rankings current = state();
+        NavigableSet<PlaceSummary> ranking = region == null ? current.topRated
+                : current.topRatedByRegion.get(regionKey(region));
+        if (ranking == null) {
+            return List.of();
+        }
+        return ranking.stream().limit(limit).toList();
+    }
+
+    // Lieux validés les plus notés récemment, du plus actif au moins actif
+    public List<PlaceSummary> trending(int limit) {
+        Rankings current = state();
+        double minScore = Math.log(MIN_TREND_SCORE) + decayPerMilli * (System.currentTimeMillis() - origin);
+        return current.trending.stream()
+                .takeWhile(trend -> trend.score() >= minScore)
+                .map(trend -> current.validated.get(trend.placeId()))
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .toList();
+    }
+
+    // Les votes n'étant pas horodatés en base, la tendance est reprise des classements précédents
+    // (vide au démarrage)
+    @Override
+    protected Rankings build(Rankings previous) {
+        Rankings fresh = new Rankings(minRatings);
+        try (Stream<PlaceSummary> places = placeRepository.streamSummariesByStatusInOrderByIdAsc(
+                List.of(ValidationStatus.VALIDATED))) {
+            places.forEach(place -> fresh.update(place.id(), place));
+        }
+        previous.trends.values().stream()
+                .filter(trend -> fresh.validated.containsKey(trend.placeId()))
+                .forEach(fresh::putTrend);
+        log.info("Classements reconstruits : {} lieux validés, {} classés", fresh.validated.size(), fresh.topRated.size());
+        return fresh;
+    }
+
+    // Relecture des lieux touchés ; les lieux absents de la base sortent des classements
+    @Override
+    protected void apply(Rankings current, PlaceChangedEvent event, long now) {
+        Set<Long> missing = new HashSet<>(event.placeIds());
+        if (event.change() != PlaceChangedEvent.Change.DELETED) {
+            for (PlaceSummary place : placeRepository.findSummariesByIdIn(event.placeIds())) {
+                missing.remove(place.id());
+                current.update(place.id(), place);
+                if (event.change() == PlaceChangedEvent.Change.RATED && current.validated.containsKey(place.id())) {
+                    current.recordVote(place.id(), decayPerMilli * (now - origin));
+                }
+            }
+        }
+        for (Long id : missing) {
+            current.update(id, null);
+        }
+    }
+
+    // log(e^a + e^b) sans dépassement de capacité
+    static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    static String regionKey(String location) {
+        return location == null ? "" : location.strip().toLowerCase(Locale.ROOT);
+    }
+
+    record Trend(Long placeId, double score) {
+
+        static final Comparator<Trend> ORDER = Comparator.comparingDouble(Trend::score).reversed()
+                .thenComparing(Trend::placeId);
+    }
+
+    // Résumé courant de chaque lieu validé ; les classements contiennent exactement ces instances.
+    // Modifiés par le seul rédacteur, lus sans verrou.
+    static final class Rankings {
+
+        private final int minRatings;
+
+        private final Map<Long, PlaceSummary> validated = new ConcurrentHashMap<>();
+        private final NavigableSet<PlaceSummary> topRated = new ConcurrentSkipListSet<>(BY_RATING);
+        private final Map<String, NavigableSet<PlaceSummary>> topRatedByRegion = new ConcurrentHashMap<>();
+
+        private final Map<Long, Trend> trends = new ConcurrentHashMap<>();
+        private final NavigableSet<Trend> trending = new ConcurrentSkipListSet<>(Trend.ORDER);
+
+        Rankings(int minRatings) {
+            this.minRatings = minRatings;
+        }
+
+        // Remplace le résumé d'un lieu dans les classements ; null ou non validé : le lieu en sort
+        void update(Long id, PlaceSummary place) {
+            boolean ranked = place != null && place.status() == ValidationStatus.VALIDATED;
+            PlaceSummary previous = ranked ? validated.put(id, place) : validated.remove(id);
+            if (previous != null) {
+                topRated.remove(previous);
+                NavigableSet<PlaceSummary> region = topRatedByRegion.get(regionKey(previous.location()));
+                if (region != null && region.remove(previous) && region.isEmpty()) {
+                    topRatedByRegion.remove(regionKey(previous.location()));
+                }
+            }
+            if (!ranked) {
+                Trend trend = trends.remove(id);
+                if (trend != null) {
+                    trending.remove(trend);
+                }
+                return;
+            }
+            if (place.ratingCount() >= minRatings) {
+                topRated.add(place);
+                topRatedByRegion.computeIfAbsent(regionKey(place.location()), key -> new ConcurrentSkipListSet<>(BY_RATING))
+                        .add(place);
+            }
+        }
+
+        // Le score d'un lieu est la somme des poids de ses votes, décroissant avec le temps. Il est conservé
+        // en logarithme et ramené à l'origine (vote : decayPerMilli × temps écoulé depuis l'origine) : l'ordre
+        // entre deux lieux ne change alors plus avec le temps, seul un nouveau vote déplace un lieu.
+        void recordVote(Long id, double vote) {
+            Trend previous = trends.get(id);
+            Trend next = new Trend(id, previous == null ? vote : logAddExp(previous.score(), vote));
+            if (previous != null) {
+                trending.remove(previous);
+            }
+            putTrend(next);
+        }
+
+        void putTrend(Trend trend) {
+            trends.put(trend.placeId(), trend);
+            trending.add(trend);
+        }
+    }
+}
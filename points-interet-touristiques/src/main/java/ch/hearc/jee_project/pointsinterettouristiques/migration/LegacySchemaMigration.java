@@ -0,0 +1,148 @@
+package ch.hearc.jee_project.pointsinterettouristiques.migration;
+
+import ch.hearc.jee_project.pointsinterettouristiques.geo.GeoHash;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Migration 1.1 : met une base créée par l'ancien {@code ddl-auto=update}
+ * (data/jpa-app.mv.db) au niveau du schéma V1. Une telle base, sans historique
+ * Flyway, est d'abord marquée comme version 1 ({@code spring.flyway.baseline-on-migrate},
+ * profil prod) ; cette migration ajoute ensuite ce qui lui manque. Sans effet sur
+ * une base créée par V1.
+ */
+@Component
+public class LegacySchemaMigration implements JavaMigration {
+
+    private static final MigrationVersion VERSION = MigrationVersion.fromVersion("1.1");
+
+    // Taille des blocs d'identifiants réservés par Hibernate dans place_seq (V1)
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getDescription() {
+        return "upgrade legacy schema";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        placeSequenceAboveExistingIds(connection);
+        // Base créée par V1 : le geohash y existe déjà
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, "PLACE", "GEOHASH")) {
+            if (columns.next()) {
+                return;
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table place add column geohash varchar(12)");
+            statement.execute("alter table place add column rating_sum bigint default 0 not null");
+            statement.execute("alter table place add column rating_count bigint default 0 not null");
+            statement.execute("alter table place add column version bigint default 0 not null");
+
+            // Les anciennes notes n'ont pas d'auteur : elles restent comptées dans les agrégats (moyenne
+            // inchangée) mais ne peuvent pas entrer dans place_ratings, dont la clé est (lieu, utilisateur)
+            statement.execute("update place p set "
+                    + "rating_sum = coalesce((select sum(r.ratings) from place_ratings r where r.place_id = p.id), 0), "
+                    + "rating_count = (select count(r.ratings) from place_ratings r where r.place_id = p.id)");
+            statement.execute("update place set average_rating = case when rating_count = 0 then 0 "
+                    + "else cast(rating_sum as float(53)) / rating_count end");
+            statement.execute("alter table place alter column rating_sum drop default");
+            statement.execute("alter table place alter column rating_count drop default");
+
+            statement.execute("drop table place_ratings");
+            statement.execute("create table place_ratings ("
+                    + "place_id bigint not null, "
+                    + "user_id bigint not null, "
+                    + "rating integer, "
+                    + "primary key (place_id, user_id), "
+                    + "constraint fk_place_ratings_place foreign key (place_id) references place)");
+            statement.execute("create index idx_place_status_geohash on place (status, geohash)");
+
+            // Contrainte d'unicité au nom généré par Hibernate : même nom que dans V1
+            String uniqueUsername = null;
+            try (ResultSet constraints = statement.executeQuery("select constraint_name "
+                    + "from information_schema.table_constraints "
+                    + "where table_name = 'USERS' and constraint_type = 'UNIQUE'")) {
+                if (constraints.next()) {
+                    uniqueUsername = constraints.getString(1);
+                }
+            }
+            if (uniqueUsername != null) {
+                statement.execute("alter table users rename constraint \"" + uniqueUsername + "\" to uk_users_username");
+            }
+        }
+        backfillGeohashes(connection);
+    }
+
+    // Identifiants attribués par place_seq. Hibernate lit la borne haute du premier bloc : la séquence
+    // repart un bloc au-dessus du plus grand identifiant existant. Vaut aussi pour une base où
+    // ddl-auto=update avait créé place_seq à partir de 1 alors que les lieux 1 à 5 existaient déjà
+    private void placeSequenceAboveExistingIds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long maxId;
+            try (ResultSet max = statement.executeQuery("select coalesce(max(id), 0) from place")) {
+                max.next();
+                maxId = max.getLong(1);
+            }
+            try (ResultSet identity = statement.executeQuery("select is_identity from information_schema.columns "
+                    + "where table_name = 'PLACE' and column_name = 'ID'")) {
+                if (identity.next() && "YES".equals(identity.getString(1))) {
+                    statement.execute("alter table place alter column id drop identity");
+                }
+            }
+            Long next = null;
+            try (ResultSet sequence = statement.executeQuery("select base_value from information_schema.sequences "
+                    + "where sequence_name = 'PLACE_SEQ'")) {
+                if (sequence.next()) {
+                    next = sequence.getLong(1);
+                }
+            }
+            // Une valeur v réserve les identifiants v - 49 à v
+            long start = maxId + SEQUENCE_INCREMENT;
+            if (next == null) {
+                statement.execute("create sequence place_seq start with " + start + " increment by " + SEQUENCE_INCREMENT);
+            } else if (maxId > 0 && next - SEQUENCE_INCREMENT < maxId) {
+                statement.execute("alter sequence place_seq restart with " + start + " increment by " + SEQUENCE_INCREMENT);
+            }
+        }
+    }
+
+    // Geohash des lieux existants (calculé à l'écriture par l'entité pour les nouveaux lieux)
+    private void backfillGeohashes(Connection connection) throws SQLException {
+        try (Statement select = connection.createStatement();
+             ResultSet places = select.executeQuery("select id, latitude, longitude from place");
+             PreparedStatement update = connection.prepareStatement("update place set geohash = ? where id = ?")) {
+            while (places.next()) {
+                update.setString(1, GeoHash.encode(places.getDouble(2), places.getDouble(3), GeoHash.MAX_PRECISION));
+                update.setLong(2, places.getLong(1));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package ch.hearc.jee_project.pointsinterettouristiques.model;
 
+import ch.hearc.jee_project.pointsinterettouristiques.geo.GeoHash;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import java.util.HashMap;
 import java.util.Map;
 
+// Cache de second niveau en lecture-écriture : les lectures par identifiant évitent la base.
+// Table et index (statut + geohash, nom, note, lieu, identifiant) : migrations db/migration.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Place.CACHE_REGION)
 public class Place {
 
+    public static final String CACHE_REGION = "place";
+    public static final String RATINGS_CACHE_REGION = "place-ratings";
+
+    // Séquence avec pré-allocation : les identifiants sont connus avant l'INSERT, ce qui permet le batching JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "place_seq")
+    @SequenceGenerator(name = "place_seq", sequenceName = "place_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,19 +42,51 @@ public class Place {
     @Column(nullable = false)
     private double longitude;
 
+    // Index spatial : geohash des coordonnées, recalculé à chaque écriture
+    @Column(length = GeoHash.MAX_PRECISION)
+    private String geohash;
+
+    // Chargement par lots si plusieurs lieux ont besoin de leurs notes
     @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Place.RATINGS_CACHE_REGION)
     @CollectionTable(name = "place_ratings", joinColumns = @JoinColumn(name = "place_id"))
     @MapKeyColumn(name = "user_id")
     @Column(name = "rating")
     private Map<Long, Integer> ratings = new HashMap<>();
 
-    @Column(nullable = false)
+    // Agrégats courants des notes : mis à jour en O(1) à chaque vote.
+    // Écrits à l'insertion, puis uniquement par les incréments SQL : la sauvegarde d'une entité
+    // chargée avant un vote concurrent ne peut pas les écraser. Relus après chaque mise à jour de
+    // l'entité, pour que l'état placé dans le cache de second niveau ne soit pas périmé.
+    @Generated(event = EventType.UPDATE, writable = true)
+    @Column(nullable = false, updatable = false)
+    private long ratingSum = 0;
+
+    @Generated(event = EventType.UPDATE, writable = true)
+    @Column(nullable = false, updatable = false)
+    private long ratingCount = 0;
+
+    @Generated(event = EventType.UPDATE, writable = true)
+    @Column(nullable = false, updatable = false)
     private double averageRating = 0.0;
 
+    // Nombre de votes appliqués, incrémenté avec les agrégats : avec la version, il identifie l'état
+    // du lieu (ETag) sans qu'un vote entre en conflit avec une modification concurrente
+    @Generated(event = EventType.UPDATE, writable = true)
+    @Column(nullable = false, updatable = false)
+    private long ratingVersion = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ValidationStatus status = ValidationStatus.UNVALIDATED;
 
+    // Verrouillage optimiste : deux modifications concurrentes du lieu (édition, modération) ne s'écrasent pas
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -87,6 +136,17 @@ public class Place {
         this.longitude = longitude;
     }
 
+    @JsonIgnore
+    public String getGeohash() {
+        return geohash;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        this.geohash = GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION);
+    }
+
     public ValidationStatus getStatus() {
         return status;
     }
@@ -95,29 +155,51 @@ public class Place {
         this.status = status;
     }
 
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
     public Map<Long, Integer> getRatings() {
         return ratings;
     }
 
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
     public double getAverageRating() {
         return averageRating;
     }
 
+    @JsonIgnore
+    public long getRatingVersion() {
+        return ratingVersion;
+    }
+
     public void addOrUpdateRating(Long userId, int rating) {
-        ratings.put(userId, rating);
-        updateAverageRating();
+        Integer previous = ratings.put(userId, rating);
+        if (previous == null) {
+            applyRatingDelta(rating, 1);
+        } else {
+            applyRatingDelta(rating - previous, 0);
+        }
     }
 
     public void removeRating(Long userId) {
-        ratings.remove(userId);
-        updateAverageRating();
+        Integer previous = ratings.remove(userId);
+        if (previous != null) {
+            applyRatingDelta(-previous, -1);
+        }
     }
 
-    private void updateAverageRating() {
-        if (!ratings.isEmpty()) {
-            this.averageRating = ratings.values().stream().mapToInt(Integer::intValue).average().orElse(0.0);
-        } else {
-            this.averageRating = 0.0;
-        }
+    private void applyRatingDelta(long sumDelta, long countDelta) {
+        this.ratingSum += sumDelta;
+        this.ratingCount += countDelta;
+        this.averageRating = ratingCount > 0 ? (double) ratingSum / ratingCount : 0.0;
     }
 }
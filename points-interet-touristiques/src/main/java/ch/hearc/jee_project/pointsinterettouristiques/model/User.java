@@ -1,11 +1,17 @@
 package ch.hearc.jee_project.pointsinterettouristiques.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @Table(name = "users")
 public class User {
 
+    public static final String CACHE_REGION = "user";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -1,20 +1,88 @@
 package ch.hearc.jee_project.pointsinterettouristiques.repository;
 
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
 import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PlaceRepository extends JpaRepository<Place, Long> {
+public interface PlaceRepository extends JpaRepository<Place, Long>, PlaceRepositoryCustom {
 
+    // Cache de requêtes : identifiants en cache, entités lues dans le cache de second niveau
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Place> findByStatus(ValidationStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Place> findByStatusIn(List<ValidationStatus> statuses);
 
-    Page<Place> findByStatus(ValidationStatus status, Pageable pageable);
-    Page<Place> findByStatusIn(List<ValidationStatus> statuses, Pageable pageable);
+    // Projections pour les listes : une seule requête, sans jamais toucher aux notes
+    List<PlaceSummary> findSummariesBy();
+    List<PlaceSummary> findSummariesByStatus(ValidationStatus status);
+    List<PlaceSummary> findSummariesByStatusIn(List<ValidationStatus> statuses);
+
+    List<PlaceSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    Page<PlaceSummary> findSummariesByStatus(ValidationStatus status, Pageable pageable);
+    Page<PlaceSummary> findSummariesByStatusIn(List<ValidationStatus> statuses, Pageable pageable);
+
+    // Pagination par clé (keyset) : ni OFFSET ni count(*)
+    Window<Place> findByStatusIn(List<ValidationStatus> statuses, ScrollPosition position, Limit limit, Sort sort);
+
+    // Export en flux : curseur JDBC lu par paquets, projections non gérées par le contexte de persistance
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PlaceSummary> streamSummariesByStatusInOrderByIdAsc(List<ValidationStatus> statuses);
+
+    // Parcours de plage sur l'index (status, geohash), rectangle filtré dans la même requête, borné à limit lignes
+    List<PlaceSummary> findSummariesByStatusAndGeohashStartingWithAndLatitudeBetweenAndLongitudeBetween(
+            ValidationStatus status, String geohashPrefix, double minLatitude, double maxLatitude,
+            double minLongitude, double maxLongitude, Limit limit);
+
+    // Détail d'un lieu avec ses notes chargées dans la même requête (objet mis en cache, donc détaché)
+    @EntityGraph(attributePaths = "ratings")
+    Optional<Place> findWithRatingsById(Long id);
+
+    @Query("SELECT p.averageRating FROM Place p WHERE p.id = :id")
+    Optional<Double> findAverageRatingById(@Param("id") Long id);
+
+    @Query("SELECT p.status FROM Place p WHERE p.id = :id")
+    Optional<ValidationStatus> findStatusById(@Param("id") Long id);
+
+    // Modération en masse : identifiants seuls, puis une instruction UPDATE par lot, sans charger d'entité.
+    // Identifiants fournis par le client : ceux qui n'existent pas sont signalés
+    @Query("SELECT p.id FROM Place p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Filtre par statut : page d'identifiants suivant afterId, dans l'ordre de la clé primaire
+    @Query("SELECT p.id FROM Place p WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsByStatusAfter(@Param("status") ValidationStatus status, @Param("afterId") long afterId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Place p SET p.status = :status, p.version = p.version + 1 WHERE p.id IN :ids AND p.status <> :status")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") ValidationStatus status);
+
+    // Note d'un utilisateur pour un lieu, sans charger toute la collection place_ratings.
+    // La ligne est verrouillée jusqu'au commit : deux votes du même utilisateur sur le même lieu se suivent.
+    @Query(value = "SELECT rating FROM place_ratings WHERE place_id = :placeId AND user_id = :userId FOR UPDATE",
+            nativeQuery = true)
+    Optional<Integer> findRatingForUpdate(@Param("placeId") Long placeId, @Param("userId") Long userId);
+
 }
@@ -0,0 +1,54 @@
+package ch.hearc.jee_project.pointsinterettouristiques.repository;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceRevision;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingSubmission;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Opérations sur les notes en JDBC, unitaires ou en lots (une instruction préparée, plusieurs jeux
+ * de paramètres). Les écritures évincent du cache de second niveau les lieux et les notes touchés.
+ * Les versions d'un lieu (ETag) et du catalogue sont lues de la même façon, sans passer par Hibernate.
+ */
+public interface PlaceRepositoryCustom {
+
+    // Variation des agrégats d'un lieu : somme des notes et nombre de votants
+    record RatingDelta(Long placeId, long sumDelta, long countDelta) {
+    }
+
+    // Statut et versions (modification ou modération, votes) d'un lieu, lus par clé primaire
+    Optional<PlaceRevision> findRevisionById(Long id);
+
+    long findCatalogueVersion();
+
+    // Les versions de votes sont tirées d'une séquence commune à tous les lieux : la plus grande date
+    // le dernier vote appliqué, toutes instances confondues
+    long findMaxRatingVersion();
+
+    // Version de votes des lieux notés après cette version (identifiant, version)
+    Map<Long, Long> findRatingVersionsAfter(long ratingVersion);
+
+    Map<Long, Long> findRatingVersionsByIdIn(Collection<Long> ids);
+
+    // Notes existantes pour les couples (lieu, utilisateur) parmi ces lieux et ces utilisateurs,
+    // verrouillées jusqu'au commit
+    List<RatingSubmission> findRatingsForUpdate(Collection<Long> placeIds, Collection<Long> userIds);
+
+    // Premier vote : échoue sur la clé primaire si un vote concurrent du même utilisateur l'a précédé
+    void insertRating(Long placeId, Long userId, int rating);
+
+    void updateRating(Long placeId, Long userId, int rating);
+
+    // Mise à jour atomique des agrégats (somme, nombre, moyenne) en une seule instruction
+    int applyRatingDelta(Long placeId, long sumDelta, long countDelta);
+
+    // Premières notes : échoue sur la clé primaire si un vote concurrent les a précédées
+    void insertRatings(Collection<RatingSubmission> ratings);
+
+    void updateRatings(Collection<RatingSubmission> ratings);
+
+    void applyRatingDeltas(Collection<RatingDelta> deltas);
+}
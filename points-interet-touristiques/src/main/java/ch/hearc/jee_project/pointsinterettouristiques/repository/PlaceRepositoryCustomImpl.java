@@ -0,0 +1,206 @@
+package ch.hearc.jee_project.pointsinterettouristiques.repository;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceRevision;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingSubmission;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+class PlaceRepositoryCustomImpl implements PlaceRepositoryCustom {
+
+    // Taille maximale d'une liste IN et d'un lot JDBC
+    private static final int BATCH_SIZE = 500;
+
+    private static final String FIND_REVISION =
+            "SELECT status, version, rating_version FROM place WHERE id = ?";
+
+    private static final String FIND_CATALOGUE_VERSION =
+            "SELECT version FROM catalogue_version WHERE id = 1";
+
+    private static final String FIND_MAX_RATING_VERSION =
+            "SELECT coalesce(max(rating_version), 0) FROM place";
+
+    private static final String FIND_RATING_VERSIONS_AFTER =
+            "SELECT id, rating_version FROM place WHERE rating_version > ?";
+
+    private static final String INSERT_RATING =
+            "INSERT INTO place_ratings (place_id, user_id, rating) VALUES (?, ?, ?)";
+
+    private static final String UPDATE_RATING =
+            "UPDATE place_ratings SET rating = ? WHERE place_id = ? AND user_id = ?";
+
+    private static final String APPLY_RATING_DELTA =
+            "UPDATE place SET rating_version = NEXT VALUE FOR place_rating_stamp_seq, rating_sum = rating_sum + ?, rating_count = rating_count + ?, " +
+            "average_rating = CASE WHEN rating_count + ? > 0 " +
+            "THEN CAST(rating_sum + ? AS DOUBLE PRECISION) / (rating_count + ?) ELSE 0.0 END " +
+            "WHERE id = ?";
+
+    private static final String RATINGS_ROLE = Place.class.getName() + ".ratings";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final Cache secondLevelCache;
+
+    PlaceRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @Override
+    public Optional<PlaceRevision> findRevisionById(Long id) {
+        return jdbcTemplate.query(FIND_REVISION, (rs, rowNum) -> new PlaceRevision(
+                ValidationStatus.valueOf(rs.getString(1)), rs.getLong(2), rs.getLong(3)), id).stream().findFirst();
+    }
+
+    @Override
+    public long findCatalogueVersion() {
+        return jdbcTemplate.queryForObject(FIND_CATALOGUE_VERSION, Long.class);
+    }
+
+    @Override
+    public long findMaxRatingVersion() {
+        return jdbcTemplate.queryForObject(FIND_MAX_RATING_VERSION, Long.class);
+    }
+
+    @Override
+    public Map<Long, Long> findRatingVersionsAfter(long ratingVersion) {
+        Map<Long, Long> versions = new HashMap<>();
+        jdbcTemplate.query(FIND_RATING_VERSIONS_AFTER,
+                (RowCallbackHandler) rs -> versions.put(rs.getLong(1), rs.getLong(2)), ratingVersion);
+        return versions;
+    }
+
+    @Override
+    public Map<Long, Long> findRatingVersionsByIdIn(Collection<Long> ids) {
+        Map<Long, Long> versions = new HashMap<>();
+        List<Long> places = List.copyOf(ids);
+        for (int start = 0; start < places.size(); start += BATCH_SIZE) {
+            namedJdbcTemplate.query("SELECT id, rating_version FROM place WHERE id IN (:ids)",
+                    Map.of("ids", places.subList(start, Math.min(places.size(), start + BATCH_SIZE))),
+                    (RowCallbackHandler) rs -> versions.put(rs.getLong(1), rs.getLong(2)));
+        }
+        return versions;
+    }
+
+    @Override
+    public List<RatingSubmission> findRatingsForUpdate(Collection<Long> placeIds, Collection<Long> userIds) {
+        List<RatingSubmission> ratings = new ArrayList<>();
+        List<Long> places = List.copyOf(placeIds);
+        for (int start = 0; start < places.size(); start += BATCH_SIZE) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("placeIds", places.subList(start, Math.min(places.size(), start + BATCH_SIZE)))
+                    .addValue("userIds", userIds);
+            ratings.addAll(namedJdbcTemplate.query(
+                    "SELECT place_id, user_id, rating FROM place_ratings " +
+                    "WHERE place_id IN (:placeIds) AND user_id IN (:userIds) FOR UPDATE",
+                    parameters,
+                    (rs, rowNum) -> new RatingSubmission(rs.getLong("place_id"), rs.getLong("user_id"), rs.getInt("rating"))));
+        }
+        return ratings;
+    }
+
+    @Override
+    public void insertRating(Long placeId, Long userId, int rating) {
+        jdbcTemplate.update(INSERT_RATING, placeId, userId, rating);
+        evictRatings(Set.of(placeId));
+    }
+
+    @Override
+    public void updateRating(Long placeId, Long userId, int rating) {
+        jdbcTemplate.update(UPDATE_RATING, rating, placeId, userId);
+        evictRatings(Set.of(placeId));
+    }
+
+    @Override
+    public int applyRatingDelta(Long placeId, long sumDelta, long countDelta) {
+        int updated = jdbcTemplate.update(APPLY_RATING_DELTA,
+                sumDelta, countDelta, countDelta, sumDelta, countDelta, placeId);
+        evictPlaces(Set.of(placeId));
+        return updated;
+    }
+
+    @Override
+    public void insertRatings(Collection<RatingSubmission> ratings) {
+        jdbcTemplate.batchUpdate(INSERT_RATING, ratings, BATCH_SIZE, (ps, rating) -> {
+            ps.setLong(1, rating.placeId());
+            ps.setLong(2, rating.userId());
+            ps.setInt(3, rating.rating());
+        });
+        evictRatings(placeIds(ratings));
+    }
+
+    @Override
+    public void updateRatings(Collection<RatingSubmission> ratings) {
+        jdbcTemplate.batchUpdate(UPDATE_RATING, ratings, BATCH_SIZE, (ps, rating) -> {
+            ps.setInt(1, rating.rating());
+            ps.setLong(2, rating.placeId());
+            ps.setLong(3, rating.userId());
+        });
+        evictRatings(placeIds(ratings));
+    }
+
+    @Override
+    public void applyRatingDeltas(Collection<RatingDelta> deltas) {
+        jdbcTemplate.batchUpdate(APPLY_RATING_DELTA, deltas, BATCH_SIZE, (ps, delta) -> {
+            ps.setLong(1, delta.sumDelta());
+            ps.setLong(2, delta.countDelta());
+            ps.setLong(3, delta.countDelta());
+            ps.setLong(4, delta.sumDelta());
+            ps.setLong(5, delta.countDelta());
+            ps.setLong(6, delta.placeId());
+        });
+        Set<Long> placeIds = new LinkedHashSet<>();
+        deltas.forEach(delta -> placeIds.add(delta.placeId()));
+        evictPlaces(placeIds);
+    }
+
+    private static Set<Long> placeIds(Collection<RatingSubmission> ratings) {
+        Set<Long> placeIds = new LinkedHashSet<>();
+        ratings.forEach(rating -> placeIds.add(rating.placeId()));
+        return placeIds;
+    }
+
+    // Ces écritures contournent Hibernate : les entrées du cache de second niveau sont évincées
+    // tout de suite, puis à nouveau après le commit (une lecture concurrente a pu y remettre l'ancien état)
+    private void evictPlaces(Set<Long> placeIds) {
+        evictAfterCommit(placeIds, id -> secondLevelCache.evictEntityData(Place.class, id));
+    }
+
+    private void evictRatings(Set<Long> placeIds) {
+        evictAfterCommit(placeIds, id -> secondLevelCache.evictCollectionData(RATINGS_ROLE, id));
+    }
+
+    private static void evictAfterCommit(Set<Long> placeIds, Consumer<Long> evict) {
+        if (placeIds.isEmpty()) {
+            return;
+        }
+        placeIds.forEach(evict);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    placeIds.forEach(evict);
+                }
+            });
+        }
+    }
+}
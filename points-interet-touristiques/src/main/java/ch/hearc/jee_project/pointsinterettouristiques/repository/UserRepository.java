@@ -1,12 +1,22 @@
 package ch.hearc.jee_project.pointsinterettouristiques.repository;
 
+import ch.hearc.jee_project.pointsinterettouristiques.dto.UserIdentity;
 import ch.hearc.jee_project.pointsinterettouristiques.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    Optional<UserIdentity> findIdentityById(Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
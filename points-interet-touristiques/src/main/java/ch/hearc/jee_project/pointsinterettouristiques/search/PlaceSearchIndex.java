@@ -0,0 +1,282 @@
+package ch.hearc.jee_project.pointsinterettouristiques.search;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Index inversé (Lucene, en mémoire) sur le nom, la description et le lieu.
+ * Reconstruit depuis la base au démarrage, puis tenu à jour par les
+ * {@link PlaceChangedEvent}. La base reste la source de vérité : l'index ne
+ * renvoie que des identifiants, classés par pertinence (BM25).
+ * <p>
+ * Les écritures des autres instances (ou en SQL direct) ne publient pas
+ * d'événement ici : toutes les {@code places.indexes.sync-interval}, une version
+ * du catalogue différente de celle lue avant la dernière reconstruction
+ * reconstruit l'index. Les notes ne sont pas indexées.
+ */
+@Component
+public class PlaceSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceSearchIndex.class);
+
+    // Au-delà, la pagination profonde coûte plus qu'elle ne sert
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String LOCATION = "location";
+    static final String STATUS = "status";
+
+    // Poids des champs : un terme dans le nom compte plus que dans la description
+    private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+
+    static {
+        FIELD_BOOSTS.put(NAME, 3.0f);
+        FIELD_BOOSTS.put(LOCATION, 2.0f);
+        FIELD_BOOSTS.put(DESCRIPTION, 1.0f);
+    }
+
+    private final PlaceRepository placeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Écritures en attente de visibilité : le lecteur n'est rouvert qu'à la recherche suivante
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    // Mise à jour incrémentale perdue (erreur de lecture ou d'écriture) : reconstruction à la recherche suivante
+    private final AtomicBoolean outOfSync = new AtomicBoolean();
+
+    // Version du catalogue lue avant la dernière reconstruction
+    private volatile long catalogueVersion = -1;
+
+    public PlaceSearchIndex(PlaceRepository placeRepository, PlatformTransactionManager transactionManager) {
+        this.placeRepository = placeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Reconstruction complète depuis la base, une fois les données initiales chargées. Une seule à la fois :
+    // la synchronisation périodique et la recherche après une erreur peuvent la demander ensemble
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long catalogue = placeRepository.findCatalogueVersion();
+        Long indexed = readOnlyTransaction.execute(tx -> {
+            try (Stream<PlaceSummary> places = placeRepository.streamSummariesByStatusInOrderByIdAsc(
+                    List.of(ValidationStatus.values()))) {
+                writer.deleteAll();
+                long count = 0;
+                for (PlaceSummary place : (Iterable<PlaceSummary>) places::iterator) {
+                    index(place);
+                    count++;
+                }
+                return count;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        refresh();
+        catalogueVersion = catalogue;
+        log.info("Index de recherche reconstruit : {} lieux", indexed);
+    }
+
+    // Rattrapage des écritures des autres instances, hors du thread des requêtes
+    @Scheduled(fixedDelayString = "${places.indexes.sync-interval:30s}",
+            initialDelayString = "${places.indexes.sync-interval:30s}")
+    public void synchronize() {
+        try {
+            if (placeRepository.findCatalogueVersion() != catalogueVersion) {
+                rebuild();
+            }
+        } catch (RuntimeException ex) {
+            outOfSync.set(true);
+            log.error("Index de recherche désynchronisé (synchronisation), reconstruction à la prochaine recherche", ex);
+        }
+    }
+
+    // Mise à jour incrémentale après le commit : les lieux absents de la base sont retirés de l'index.
+    // Le changement est déjà commité : une erreur ici ne doit pas faire échouer la requête. L'index est
+    // alors marqué désynchronisé et reconstruit à la recherche suivante
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        if (event.change() == PlaceChangedEvent.Change.RATED) {
+            return;
+        }
+        try {
+            Set<Long> missing = new HashSet<>(event.placeIds());
+            if (event.change() != PlaceChangedEvent.Change.DELETED) {
+                for (PlaceSummary place : placeRepository.findSummariesByIdIn(event.placeIds())) {
+                    index(place);
+                    missing.remove(place.id());
+                }
+            }
+            for (Long id : missing) {
+                writer.deleteDocuments(new Term(ID, id.toString()));
+            }
+        } catch (IOException | RuntimeException ex) {
+            outOfSync.set(true);
+            log.error("Index de recherche désynchronisé ({} {}), reconstruction à la prochaine recherche",
+                    event.change(), event.placeIds(), ex);
+        }
+        stale.set(true);
+    }
+
+    // Recherche classée parmi les lieux d'un statut ; renvoie une page d'identifiants
+    public Page<Long> search(String text, ValidationStatus status, Pageable pageable) {
+        Query query = buildQuery(text, status);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+
+        if (outOfSync.getAndSet(false)) {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                outOfSync.set(true);
+                throw ex;
+            }
+        }
+        if (stale.getAndSet(false)) {
+            refresh();
+        }
+
+        int end = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), MAX_RESULT_WINDOW);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, new TopScoreDocCollectorManager(Math.max(end, 1), Integer.MAX_VALUE));
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                for (int i = (int) pageable.getOffset(); i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    ids.add(Long.valueOf(storedFields.document(hit.doc, Set.of(ID)).get(ID)));
+                }
+                return new PageImpl<>(ids, pageable, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Chaque terme doit apparaître dans au moins un champ ; le score combine les champs pondérés
+    Query buildQuery(String text, ValidationStatus status) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            FIELD_BOOSTS.forEach((field, boost) -> anyField.add(
+                    new BoostQuery(new TermQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD));
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        query.add(new TermQuery(new Term(STATUS, status.name())), BooleanClause.Occur.FILTER);
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                if (!terms.contains(term.toString())) {
+                    terms.add(term.toString());
+                }
+            }
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return terms;
+    }
+
+    private void index(PlaceSummary place) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, place.id().toString(), Field.Store.YES));
+        document.add(new StringField(STATUS, place.status().name(), Field.Store.NO));
+        document.add(new TextField(NAME, place.name(), Field.Store.NO));
+        document.add(new TextField(LOCATION, place.location(), Field.Store.NO));
+        if (place.description() != null) {
+            document.add(new TextField(DESCRIPTION, place.description(), Field.Store.NO));
+        }
+        writer.updateDocument(new Term(ID, place.id().toString()), document);
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+}
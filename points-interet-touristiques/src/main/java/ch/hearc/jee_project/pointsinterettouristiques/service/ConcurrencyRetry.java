@@ -0,0 +1,29 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rejoue la transaction entière en cas de conflit de concurrence (version
+ * obsolète, verrou non obtenu, premier vote concurrent sur la même clé), avec
+ * une attente croissante et aléatoire pour désynchroniser les tentatives.
+ * Les violations d'intégrité sont rejouées car l'existence du lieu et de
+ * l'utilisateur est vérifiée avant l'écriture : seule une course peut en causer.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = {ConcurrencyFailureException.class, DataIntegrityViolationException.class},
+        maxAttempts = 6,
+        backoff = @Backoff(delay = 5, multiplier = 2, maxDelay = 200, random = true))
+public @interface ConcurrencyRetry {
+}
@@ -0,0 +1,24 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Publié par les services après chaque modification de lieux. Les écouteurs
+ * (index de recherche, etc.) le reçoivent après le commit de la transaction.
+ */
+public record PlaceChangedEvent(Change change, Collection<Long> placeIds) {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        MODERATED,
+        // Notes et agrégats seulement : les champs indexés n'ont pas changé
+        RATED,
+        DELETED
+    }
+
+    public static PlaceChangedEvent of(Change change, Long placeId) {
+        return new PlaceChangedEvent(change, Collections.singletonList(placeId));
+    }
+}
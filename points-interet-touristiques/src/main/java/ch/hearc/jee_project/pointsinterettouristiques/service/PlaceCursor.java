@@ -0,0 +1,65 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Curseur opaque de pagination par clé : encode la valeur de la colonne de tri
+ * et l'id du dernier élément retourné, ainsi que le tri pour lequel il est valable.
+ */
+public final class PlaceCursor {
+
+    // Colonnes non nulles utilisables comme clé de pagination
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("name", "location", "averageRating", "id");
+
+    private static final String SEPARATOR = "|";
+
+    private PlaceCursor() {
+    }
+
+    public static String encode(Sort.Order order, Map<String, ?> keys) {
+        String raw = order.getDirection().name() + SEPARATOR + order.getProperty() + SEPARATOR
+                + keys.get("id") + SEPARATOR + keys.get(order.getProperty());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Position de départ pour un curseur (null : première tranche)
+    public static ScrollPosition decode(String cursor, Sort.Order order) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 4 || !parts[0].equals(order.getDirection().name()) || !parts[1].equals(order.getProperty())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(order.getProperty(), parseValue(order.getProperty(), parts[3]));
+            keys.put("id", Long.valueOf(parts[2]));
+            return ScrollPosition.forward(keys);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Object parseValue(String property, String value) {
+        return switch (property) {
+            case "averageRating" -> Double.valueOf(value);
+            case "id" -> Long.valueOf(value);
+            default -> value;
+        };
+    }
+}
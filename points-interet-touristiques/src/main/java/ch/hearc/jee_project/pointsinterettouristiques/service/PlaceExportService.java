@@ -0,0 +1,61 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Export NDJSON du catalogue : les lieux sont lus avec un curseur et écrits un
+ * par un, sans jamais construire la liste complète en mémoire.
+ */
+@Service
+@Timed(value = "places.export", description = "Durée des exports NDJSON du catalogue")
+public class PlaceExportService {
+
+    private final PlaceRepository placeRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter placeWriter;
+
+    public PlaceExportService(PlaceRepository placeRepository, ObjectMapper objectMapper) {
+        this.placeRepository = placeRepository;
+        this.objectMapper = objectMapper;
+        // Pas de flush par lieu : le tampon du serveur décide quand envoyer
+        this.placeWriter = objectMapper.writerFor(PlaceSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Écrire les lieux des statuts donnés, un objet JSON par ligne, triés par ID
+    @Transactional(readOnly = true)
+    public long exportPlaces(List<ValidationStatus> statuses, OutputStream output) throws IOException {
+        long count = 0;
+        try (Stream<PlaceSummary> places = placeRepository.streamSummariesByStatusInOrderByIdAsc(statuses);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            Iterator<PlaceSummary> iterator = places.iterator();
+            while (iterator.hasNext()) {
+                placeWriter.writeValue(generator, iterator.next());
+                count++;
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+}
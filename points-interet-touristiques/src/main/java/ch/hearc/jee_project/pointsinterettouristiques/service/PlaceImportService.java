@@ -0,0 +1,320 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.config.CacheConfig;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ImportReport;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceImportRow;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.BoundingBox;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Import en masse de lieux : le fichier est lu ligne par ligne (ou objet par
+ * objet), validé, puis inséré par lots avec le batching JDBC de Hibernate.
+ * Chaque lot est commité puis détaché : la mémoire reste constante.
+ */
+@Service
+@Timed(value = "places.import", description = "Durée des imports en masse de lieux")
+public class PlaceImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceImportService.class);
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    // Longueur maximale d'un enregistrement CSV : au-delà, un guillemet non refermé avalerait tout le fichier
+    static final int MAX_CSV_RECORD_LENGTH = 64 * 1024;
+
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    // Fichier mal formé (JSON invalide, guillemet CSV non refermé) : la lecture s'arrête, le rapport porte la position de l'erreur et les lots déjà insérés
+    public static class MalformedImportException extends RuntimeException {
+
+        private final ImportReport report;
+
+        public MalformedImportException(ImportReport report) {
+            super("Malformed import: " + report.errors().get(report.errors().size() - 1));
+            this.report = report;
+        }
+
+        public ImportReport getReport() {
+            return report;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public PlaceImportService(TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${places.import.batch-size:1000}") int batchSize) {
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    // Importer des lieux depuis un flux CSV (avec en-tête) ou JSON (tableau ou NDJSON)
+    @CacheEvict(cacheNames = CacheConfig.VALIDATED_PLACES, allEntries = true)
+    public ImportReport importPlaces(InputStream input, Format format, ValidationStatus status) throws IOException {
+        ImportState state = new ImportState(status);
+        boolean malformed = false;
+        if (format == Format.CSV) {
+            malformed = !readCsv(input, state);
+        } else {
+            malformed = !readJson(input, state);
+        }
+        state.flush();
+
+        if (malformed) {
+            log.warn("Import interrompu ({} mal formé) : {} lieux importés, {} rejetés", format, state.imported, state.rejected);
+            throw new MalformedImportException(state.report());
+        }
+
+        log.info("Import terminé : {} lieux importés, {} rejetés, {} lots", state.imported, state.rejected, state.batches);
+        return state.report();
+    }
+
+    // Faux si un champ entre guillemets n'est pas refermé : les lieux précédents sont gardés, la suite est ignorée.
+    // Un champ entre guillemets peut contenir des retours à la ligne (RFC 4180) : l'enregistrement continue
+    // sur les lignes suivantes et les erreurs donnent sa première ligne
+    private boolean readCsv(InputStream input, ImportState state) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return true;
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> headerFields = parseCsvLine(header);
+        for (int i = 0; i < headerFields.size(); i++) {
+            columns.put(headerFields.get(i).trim().toLowerCase(), i);
+        }
+
+        String line;
+        long lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            long recordLine = lineNumber;
+            StringBuilder record = new StringBuilder(line);
+            while (hasOpenQuote(record)) {
+                String next = record.length() <= MAX_CSV_RECORD_LENGTH ? reader.readLine() : null;
+                if (next == null) {
+                    state.reject(recordLine, "unterminated quoted field");
+                    return false;
+                }
+                lineNumber++;
+                record.append('\n').append(next);
+            }
+            List<String> fields = parseCsvLine(record.toString());
+            try {
+                state.accept(recordLine, new PlaceImportRow(
+                        field(fields, columns, "name"),
+                        field(fields, columns, "description"),
+                        field(fields, columns, "location"),
+                        parseCoordinate(field(fields, columns, "latitude")),
+                        parseCoordinate(field(fields, columns, "longitude"))));
+            } catch (NumberFormatException ex) {
+                state.reject(recordLine, "invalid coordinates");
+            }
+        }
+        return true;
+    }
+
+    // Nombre impair de guillemets : le dernier champ entre guillemets continue à la ligne suivante
+    // ("" compte pour deux et ne change rien)
+    static boolean hasOpenQuote(CharSequence record) {
+        boolean open = false;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    // Faux si le flux n'est pas du JSON valide : les objets précédant l'erreur sont gardés, la suite est ignorée
+    private boolean readJson(InputStream input, ImportState state) throws IOException {
+        try (MappingIterator<PlaceImportRow> rows = objectMapper.readerFor(PlaceImportRow.class).readValues(input)) {
+            while (true) {
+                long lineNumber = rows.getCurrentLocation().getLineNr();
+                try {
+                    if (!rows.hasNextValue()) {
+                        return true;
+                    }
+                    state.accept(lineNumber, rows.nextValue());
+                } catch (JsonMappingException ex) {
+                    // Objet invalide : on le saute et on continue avec le suivant
+                    state.reject(lineNumber, "invalid object");
+                }
+            }
+        } catch (JsonParseException ex) {
+            JsonLocation location = ex.getLocation();
+            state.reject(location.getLineNr(), "malformed JSON at column " + location.getColumnNr());
+            return false;
+        }
+    }
+
+    // Découpe un enregistrement CSV (séparateur virgule, champs entre guillemets avec "" pour un guillemet,
+    // retours à la ligne compris)
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double parseCoordinate(String value) {
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    // Validation d'une ligne : null si elle est correcte, sinon le motif du rejet
+    private static String validate(PlaceImportRow row) {
+        if (row == null) {
+            return "empty object";
+        }
+        if (row.name() == null || row.name().isBlank()) {
+            return "missing name";
+        }
+        if (row.location() == null || row.location().isBlank()) {
+            return "missing location";
+        }
+        if (row.latitude() == null || !BoundingBox.isValidLatitude(row.latitude())
+                || row.longitude() == null || !BoundingBox.isValidLongitude(row.longitude())) {
+            return "invalid coordinates";
+        }
+        return null;
+    }
+
+    // État d'un import en cours : lot courant, compteurs et erreurs (bornées)
+    private final class ImportState {
+
+        private final ValidationStatus status;
+        private final List<Place> batch = new ArrayList<>(batchSize);
+        private final List<String> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+        private int batches;
+
+        private ImportState(ValidationStatus status) {
+            this.status = status;
+        }
+
+        private void accept(long lineNumber, PlaceImportRow row) {
+            String error = validate(row);
+            if (error != null) {
+                reject(lineNumber, error);
+                return;
+            }
+
+            Place place = new Place();
+            place.setName(row.name());
+            place.setDescription(row.description());
+            place.setLocation(row.location());
+            place.setLatitude(row.latitude());
+            place.setLongitude(row.longitude());
+            place.setStatus(status);
+            batch.add(place);
+
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private ImportReport report() {
+            return new ImportReport(imported, rejected, batches, errors);
+        }
+
+        private void reject(long lineNumber, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+
+        // Insère le lot courant dans sa propre transaction, puis libère le contexte de persistance
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(tx -> {
+                batch.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            imported += batch.size();
+            batches++;
+            eventPublisher.publishEvent(new PlaceChangedEvent(PlaceChangedEvent.Change.CREATED,
+                    batch.stream().map(Place::getId).toList()));
+            batch.clear();
+            log.info("Import : lot {} inséré ({} lieux importés, {} rejetés)", batches, imported, rejected);
+        }
+    }
+}
@@ -1,91 +1,358 @@
 package ch.hearc.jee_project.pointsinterettouristiques.service;
 
+import ch.hearc.jee_project.pointsinterettouristiques.config.CacheConfig;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.CursorSlice;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ModerationReport;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ModerationRequest;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceCluster;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceMarker;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceRevision;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingResult;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingSubmission;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.BoundingBox;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.GeoHash;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.PlaceClusterIndex;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
-import ch.hearc.jee_project.pointsinterettouristiques.model.User;
 import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
 import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
-import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepositoryCustom.RatingDelta;
+import ch.hearc.jee_project.pointsinterettouristiques.leaderboard.PlaceLeaderboards;
+import ch.hearc.jee_project.pointsinterettouristiques.search.PlaceSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "places.service", description = "Durée des opérations sur les lieux et les notes")
 public class PlaceService {
 
+    // Nombre maximal de cellules geohash (donc de requêtes indexées) par recherche spatiale
+    static final int MAX_SEARCH_CELLS = 9;
+
+    // Précision geohash minimale des cellules parcourues : une zone plus grande est refusée
+    static final int MIN_SEARCH_PRECISION = 2;
+
+    // Nombre maximal de lieux lus par rectangle de /nearby, toutes cellules confondues : au-delà, le rayon
+    // est réduit plutôt que de trier une liste tronquée
+    static final int MAX_SEARCH_CANDIDATES = 5000;
+
+    // Nombre maximal de rayons essayés par /nearby avant de refuser une zone trop dense
+    static final int MAX_SEARCH_ROUNDS = 20;
+
+    // Rayon maximal de /nearby et nombre maximal de résultats d'une recherche spatiale
+    public static final double MAX_SEARCH_RADIUS_KM = 100;
+    public static final int MAX_SEARCH_RESULTS = 1000;
+
+    // Nombre d'identifiants par instruction UPDATE de la modération en masse
+    static final int MODERATION_BATCH_SIZE = 1000;
+
+    // Nombre maximal de notes par envoi groupé
+    public static final int MAX_RATING_BATCH = 1000;
+
     private final PlaceRepository placeRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final PlaceSearchIndex placeSearchIndex;
+    private final PlaceLeaderboards placeLeaderboards;
+    private final PlaceClusterIndex placeClusterIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PlaceService(PlaceRepository placeRepository, UserRepository userRepository) {
+    public PlaceService(PlaceRepository placeRepository, UserService userService,
+                        PlaceSearchIndex placeSearchIndex, PlaceLeaderboards placeLeaderboards,
+                        PlaceClusterIndex placeClusterIndex, ApplicationEventPublisher eventPublisher) {
         this.placeRepository = placeRepository;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.placeSearchIndex = placeSearchIndex;
+        this.placeLeaderboards = placeLeaderboards;
+        this.placeClusterIndex = placeClusterIndex;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<Place> getAllPlaces() {
-        return placeRepository.findAll();
+    public List<PlaceSummary> getAllPlaces() {
+        return placeRepository.findSummariesBy();
     }
 
-    public List<Place> getPlacesByStatus(ValidationStatus status) {
-        return placeRepository.findByStatus(status);
+    public List<PlaceSummary> getPlacesByStatus(ValidationStatus status) {
+        return placeRepository.findSummariesByStatus(status);
     }
 
-    public List<Place> getPlacesByStatuses(List<ValidationStatus> statuses) {
-        return placeRepository.findByStatusIn(statuses);
+    // Récupérer les lieux validés (lecture la plus fréquente, mise en cache)
+    @Cacheable(cacheNames = CacheConfig.VALIDATED_PLACES, key = "'all'")
+    public List<PlaceSummary> getValidatedPlaces() {
+        return placeRepository.findSummariesByStatus(ValidationStatus.VALIDATED);
     }
 
+    public List<PlaceSummary> getPlacesByStatuses(List<ValidationStatus> statuses) {
+        return placeRepository.findSummariesByStatusIn(statuses);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PLACES, key = "#id")
     public Place getPlaceById(Long id) {
+        return placeRepository.findWithRatingsById(id).orElseThrow(() -> new RuntimeException("Place not found"));
+    }
+
+    // Statut et version seuls (existence, visibilité, ETag), lus en base sans charger le lieu
+    public Optional<PlaceRevision> getPlaceRevision(Long id) {
+        return placeRepository.findRevisionById(id);
+    }
+
+    // Chargement interne, sans les notes ni le cache
+    private Place findPlace(Long id) {
         return placeRepository.findById(id).orElseThrow(() -> new RuntimeException("Place not found"));
     }
 
     public Place createPlace(Place place) {
         place.setStatus(ValidationStatus.UNVALIDATED); // Toujours non validé à la création
-        return placeRepository.save(place);
+        Place savedPlace = placeRepository.save(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangedEvent.Change.CREATED, savedPlace.getId()));
+        return savedPlace;
     }
 
+    @ConcurrencyRetry
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLACES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.VALIDATED_PLACES, allEntries = true)
+    })
     public Place updatePlace(Long id, Place placeDetails) {
-        Place place = getPlaceById(id);
+        Place place = findPlace(id);
         place.setName(placeDetails.getName());
         place.setDescription(placeDetails.getDescription());
         place.setLocation(placeDetails.getLocation());
         place.setLatitude(placeDetails.getLatitude());
         place.setLongitude(placeDetails.getLongitude());
-        return placeRepository.save(place);
+        Place savedPlace = placeRepository.save(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangedEvent.Change.UPDATED, id));
+        return savedPlace;
     }
 
+    @ConcurrencyRetry
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLACES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.AVERAGE_RATINGS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.VALIDATED_PLACES, allEntries = true)
+    })
     public void deletePlace(Long id) {
         placeRepository.deleteById(id);
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangedEvent.Change.DELETED, id));
     }
 
+    @ConcurrencyRetry
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLACES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.VALIDATED_PLACES, allEntries = true)
+    })
     public Place validatePlace(Long id) {
-        Place place = getPlaceById(id);
+        Place place = findPlace(id);
         place.setStatus(ValidationStatus.VALIDATED);
-        return placeRepository.save(place);
+        Place savedPlace = placeRepository.save(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangedEvent.Change.MODERATED, id));
+        return savedPlace;
     }
 
+    @ConcurrencyRetry
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLACES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.VALIDATED_PLACES, allEntries = true)
+    })
     public Place rejectPlace(Long id) {
-        Place place = getPlaceById(id);
+        Place place = findPlace(id);
         place.setStatus(ValidationStatus.REJECTED);
-        return placeRepository.save(place);
+        Place savedPlace = placeRepository.save(place);
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangedEvent.Change.MODERATED, id));
+        return savedPlace;
+    }
+
+    // Modération en masse, sans charger d'entité : un UPDATE par lot de 1000 identifiants. Les identifiants
+    // fournis sont vérifiés (les absents sont signalés) ; ceux d'un filtre par statut sont lus page par page
+    // après le dernier traité, sans liste complète en mémoire
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLACES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.VALIDATED_PLACES, allEntries = true)
+    })
+    public ModerationReport moderatePlaces(ModerationRequest request, ValidationStatus status) {
+        long updated = 0;
+        List<Long> notFound = new ArrayList<>();
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            List<Long> ids = request.ids().stream().distinct().toList();
+            for (int start = 0; start < ids.size(); start += MODERATION_BATCH_SIZE) {
+                List<Long> batch = ids.subList(start, Math.min(ids.size(), start + MODERATION_BATCH_SIZE));
+                Set<Long> existing = new HashSet<>(placeRepository.findExistingIds(batch));
+                batch.stream().filter(id -> !existing.contains(id)).forEach(notFound::add);
+                updated += moderateBatch(existing, status);
+            }
+        } else {
+            List<Long> batch = placeRepository.findIdsByStatusAfter(request.status(), 0, Limit.of(MODERATION_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                updated += moderateBatch(batch, status);
+                batch = placeRepository.findIdsByStatusAfter(request.status(), batch.get(batch.size() - 1),
+                        Limit.of(MODERATION_BATCH_SIZE));
+            }
+        }
+        return new ModerationReport(updated, notFound);
+    }
+
+    private int moderateBatch(Collection<Long> ids, ValidationStatus status) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int updated = placeRepository.updateStatus(ids, status);
+        eventPublisher.publishEvent(new PlaceChangedEvent(PlaceChangedEvent.Change.MODERATED, List.copyOf(ids)));
+        return updated;
     }
 
-    // Ajouter une note à un lieu
+    // Ajouter une note à un lieu : upsert de la note et mise à jour incrémentale des agrégats,
+    // sans jamais charger la collection complète des notes. Deux premiers votes concurrents du même
+    // utilisateur se heurtent sur la clé primaire : la transaction perdante est rejouée.
+    // La liste des lieux validés reste en cache : ses moyennes ont un retard borné (PlaceVersions).
+    @ConcurrencyRetry
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLACES, key = "#placeId"),
+            @CacheEvict(cacheNames = CacheConfig.AVERAGE_RATINGS, key = "#placeId")
+    })
     public void ratePlace(Long placeId, Long userId, int rating) {
-        Place place = placeRepository.findById(placeId)
+        ValidationStatus status = placeRepository.findStatusById(placeId)
                 .orElseThrow(() -> new RuntimeException("Place not found"));
 
-        if (place.getStatus() != ValidationStatus.VALIDATED) {
+        if (status != ValidationStatus.VALIDATED) {
             throw new RuntimeException("Only validated places can be rated");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        userService.getIdentity(userId); // L'utilisateur doit exister (vérifié depuis le cache)
+
+        Optional<Integer> previous = placeRepository.findRatingForUpdate(placeId, userId);
+        if (previous.isPresent()) {
+            placeRepository.updateRating(placeId, userId, rating);
+            placeRepository.applyRatingDelta(placeId, rating - previous.get(), 0);
+        } else {
+            placeRepository.insertRating(placeId, userId, rating);
+            placeRepository.applyRatingDelta(placeId, rating, 1);
+        }
+        eventPublisher.publishEvent(PlaceChangedEvent.of(PlaceChangedEvent.Change.RATED, placeId));
+    }
+
+    // Appliquer un lot de notes : utilisateurs et lieux vérifiés en une requête chacun,
+    // puis upserts et mises à jour des agrégats en lots JDBC, dans une seule transaction.
+    // Les lieux touchés n'étant connus qu'à l'exécution, les caches de lieux sont vidés entièrement.
+    @ConcurrencyRetry
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLACES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.AVERAGE_RATINGS, allEntries = true)
+    })
+    public List<RatingResult> ratePlaces(List<RatingSubmission> submissions) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> placeIds = new HashSet<>();
+        for (RatingSubmission submission : submissions) {
+            if (submission.userId() != null) {
+                userIds.add(submission.userId());
+            }
+            if (submission.placeId() != null) {
+                placeIds.add(submission.placeId());
+            }
+        }
+        Set<Long> existingUsers = userService.findExistingIds(userIds);
+        Map<Long, ValidationStatus> statuses = placeIds.isEmpty() ? Map.of()
+                : placeRepository.findSummariesByIdIn(placeIds).stream()
+                        .collect(Collectors.toMap(PlaceSummary::id, PlaceSummary::status));
+
+        // Un résultat par note ; pour un même couple (lieu, utilisateur), la dernière note du lot l'emporte
+        List<RatingResult> results = new ArrayList<>(submissions.size());
+        Map<RatingKey, RatingSubmission> accepted = new LinkedHashMap<>();
+        for (RatingSubmission submission : submissions) {
+            RatingResult.Outcome outcome = checkRating(submission, existingUsers, statuses);
+            if (outcome == RatingResult.Outcome.APPLIED) {
+                accepted.put(new RatingKey(submission.placeId(), submission.userId()), submission);
+            }
+            results.add(RatingResult.of(submission, outcome));
+        }
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        Set<Long> ratedPlaces = new HashSet<>();
+        Set<Long> raters = new HashSet<>();
+        accepted.keySet().forEach(key -> {
+            ratedPlaces.add(key.placeId());
+            raters.add(key.userId());
+        });
+        Map<RatingKey, Integer> previous = new HashMap<>();
+        for (RatingSubmission rating : placeRepository.findRatingsForUpdate(ratedPlaces, raters)) {
+            previous.put(new RatingKey(rating.placeId(), rating.userId()), rating.rating());
+        }
+
+        // Agrégats regroupés par lieu : une seule mise à jour par lieu, quel que soit le nombre de notes
+        Map<Long, long[]> deltas = new LinkedHashMap<>();
+        List<RatingSubmission> inserts = new ArrayList<>();
+        List<RatingSubmission> updates = new ArrayList<>();
+        accepted.forEach((key, submission) -> {
+            long[] delta = deltas.computeIfAbsent(key.placeId(), id -> new long[2]);
+            Integer old = previous.get(key);
+            delta[0] += submission.rating() - (old == null ? 0 : old);
+            delta[1] += old == null ? 1 : 0;
+            (old == null ? inserts : updates).add(submission);
+        });
+
+        placeRepository.insertRatings(inserts);
+        placeRepository.updateRatings(updates);
+        placeRepository.applyRatingDeltas(deltas.entrySet().stream()
+                .map(entry -> new RatingDelta(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .toList());
+        eventPublisher.publishEvent(new PlaceChangedEvent(PlaceChangedEvent.Change.RATED, List.copyOf(deltas.keySet())));
+        return results;
+    }
 
-        place.addOrUpdateRating(userId, rating);
-        placeRepository.save(place);
+    private static RatingResult.Outcome checkRating(RatingSubmission submission, Set<Long> existingUsers,
+                                                    Map<Long, ValidationStatus> statuses) {
+        if (submission.rating() == null || submission.rating() < 1 || submission.rating() > 10) {
+            return RatingResult.Outcome.INVALID_RATING;
+        }
+        if (!existingUsers.contains(submission.userId())) {
+            return RatingResult.Outcome.USER_NOT_FOUND;
+        }
+        ValidationStatus status = statuses.get(submission.placeId());
+        if (status == null) {
+            return RatingResult.Outcome.PLACE_NOT_FOUND;
+        }
+        if (status != ValidationStatus.VALIDATED) {
+            return RatingResult.Outcome.PLACE_NOT_VALIDATED;
+        }
+        return RatingResult.Outcome.APPLIED;
     }
 
+    private record RatingKey(Long placeId, Long userId) {
+    }
 
     // Récupérer les notes d'un lieu
     public Map<Long,Integer> getRatings(Long placeId) {
@@ -96,30 +363,168 @@ public class PlaceService {
     }
 
     // Récupérer la moyenne des notes d'un lieu
+    @Cacheable(cacheNames = CacheConfig.AVERAGE_RATINGS, key = "#placeId")
     public double getAverageRating(Long placeId) {
-        Place place = placeRepository.findById(placeId)
+        return placeRepository.findAverageRatingById(placeId)
                 .orElseThrow(() -> new RuntimeException("Place not found"));
-
-        return place.getAverageRating();
     }
 
     // Récupérer les lieux validés avec pagination
-    public Page<Place> getValidatedPlaces(Pageable pageable) {
-        return placeRepository.findByStatus(ValidationStatus.VALIDATED, pageable);
+    public Page<PlaceSummary> getValidatedPlaces(Pageable pageable) {
+        return findSummariesByStatus(ValidationStatus.VALIDATED, pageable);
     }
 
     // Récupérer les lieux non validés avec pagination
-    public Page<Place> getUnvalidatedPlaces(Pageable pageable) {
-        return placeRepository.findByStatus(ValidationStatus.UNVALIDATED, pageable);
+    public Page<PlaceSummary> getUnvalidatedPlaces(Pageable pageable) {
+        return findSummariesByStatus(ValidationStatus.UNVALIDATED, pageable);
     }
 
     // Récupérer les lieux rejetés avec pagination
-    public Page<Place> getRejectedPlaces(Pageable pageable) {
-        return placeRepository.findByStatus(ValidationStatus.REJECTED, pageable);
+    public Page<PlaceSummary> getRejectedPlaces(Pageable pageable) {
+        return findSummariesByStatus(ValidationStatus.REJECTED, pageable);
     }
 
     // Récupérer les lieux non validés et rejetés avec pagination
-    public Page<Place> getUnvalidatedAndRejectedPlaces(List<ValidationStatus> statuses, Pageable pageable) {
-        return placeRepository.findByStatusIn(statuses, pageable);
+    public Page<PlaceSummary> getUnvalidatedAndRejectedPlaces(List<ValidationStatus> statuses, Pageable pageable) {
+        return placeRepository.findSummariesByStatusIn(statuses, pageable);
+    }
+
+    // Le statut, constant dans la requête, est ajouté en tête du tri : H2 lit alors la page dans l'ordre
+    // de l'index (status, colonne triée) au lieu de trier tous les lieux du statut. La page renvoyée
+    // garde le tri demandé.
+    private Page<PlaceSummary> findSummariesByStatus(ValidationStatus status, Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().isUnsorted()) {
+            return placeRepository.findSummariesByStatus(status, pageable);
+        }
+        Page<PlaceSummary> page = placeRepository.findSummariesByStatus(status, PageRequest.of(
+                pageable.getPageNumber(), pageable.getPageSize(), Sort.by("status").and(pageable.getSort())));
+        return new PageImpl<>(page.getContent(), pageable, page.getTotalElements());
+    }
+
+    // Recherche plein texte parmi les lieux validés, classée par pertinence
+    public Page<PlaceSummary> searchValidatedPlaces(String text, Pageable pageable) {
+        Page<Long> ids = placeSearchIndex.search(text, ValidationStatus.VALIDATED, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        // Une requête par clé primaire pour la page, puis remise dans l'ordre de pertinence
+        Map<Long, PlaceSummary> byId = placeRepository.findSummariesByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(PlaceSummary::id, Function.identity()));
+        List<PlaceSummary> content = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    // Récupérer les lieux par curseur : le coût d'une tranche ne dépend pas de sa profondeur
+    public CursorSlice<PlaceSummary> getPlacesByCursor(List<ValidationStatus> statuses, String cursor, int size, Sort.Order order) {
+        Window<Place> window = placeRepository.findByStatusIn(
+                statuses, PlaceCursor.decode(cursor, order), Limit.of(size), Sort.by(order));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = PlaceCursor.encode(order, last.getKeys());
+        }
+        List<PlaceSummary> content = window.getContent().stream().map(PlaceSummary::from).toList();
+        return new CursorSlice<>(content, window.size(), window.hasNext(), nextCursor);
+    }
+
+    // Récupérer les lieux validés dans un rayon autour d'un point, du plus proche au plus éloigné.
+    // Les lieux d'un rayon ne sont triés que s'ils ont tous été lus : un rectangle de plus de
+    // MAX_SEARCH_CANDIDATES lieux fait réduire le rayon, un cercle de moins de limit lieux le fait
+    // élargir (par dichotomie, jusqu'au rayon demandé). Les lieux renvoyés sont donc toujours les plus proches.
+    public List<PlaceSummary> getValidatedPlacesNearby(double latitude, double longitude, double radiusKm, int limit) {
+        if (!Double.isFinite(radiusKm) || radiusKm <= 0 || radiusKm > MAX_SEARCH_RADIUS_KM) {
+            throw new IllegalArgumentException("Invalid radius: " + radiusKm);
+        }
+        checkSearchLimit(limit);
+        double tooFew = 0;           // plus grand rayon lu dont le cercle contient moins de limit lieux
+        double tooMany = radiusKm;   // plus petit rayon dont le rectangle dépasse MAX_SEARCH_CANDIDATES
+        double radius = radiusKm;
+        for (int round = 0; round < MAX_SEARCH_ROUNDS; round++) {
+            BoundingBox box = BoundingBox.around(latitude, longitude, radius);
+            List<PlaceSummary> candidates = findValidatedPlacesInCells(box, MAX_SEARCH_CANDIDATES + 1);
+            if (candidates.size() > MAX_SEARCH_CANDIDATES) {
+                tooMany = radius;
+            } else {
+                double maxDistance = radius;
+                List<PlaceSummary> nearest = candidates.stream()
+                        .filter(place -> distanceKm(place, latitude, longitude) <= maxDistance)
+                        .sorted(Comparator.comparingDouble(place -> distanceKm(place, latitude, longitude)))
+                        .toList();
+                if (nearest.size() >= limit || radius == radiusKm) {
+                    return nearest.stream().limit(limit).toList();
+                }
+                tooFew = radius;
+            }
+            radius = (tooFew + tooMany) / 2;
+        }
+        throw new IllegalArgumentException("Search area too dense");
+    }
+
+    // Récupérer les lieux validés contenus dans un rectangle (filtré en base : les lignes lues sont des résultats)
+    public List<PlaceSummary> getValidatedPlacesWithin(BoundingBox box, int limit) {
+        checkSearchLimit(limit);
+        return findValidatedPlacesInCells(box, limit);
+    }
+
+    // Classements précalculés, tenus à jour à chaque note et modération : aucune requête ni tri
+    public List<PlaceSummary> getTopRatedPlaces(String region, int limit) {
+        return placeLeaderboards.topRated(region, limit);
+    }
+
+    public List<PlaceSummary> getTrendingPlaces(int limit) {
+        return placeLeaderboards.trending(limit);
+    }
+
+    // Marqueurs de carte dans un rectangle
+    public List<PlaceMarker> getValidatedMarkersWithin(BoundingBox box, int limit) {
+        return getValidatedPlacesWithin(box, limit).stream().map(PlaceMarker::from).toList();
+    }
+
+    // Regroupements précalculés des lieux validés pour un niveau de zoom : aucune requête
+    public List<PlaceCluster> getValidatedClustersWithin(BoundingBox box, int zoom) {
+        return placeClusterIndex.clusters(box, GeoHash.precisionForZoom(zoom));
+    }
+
+    private static void checkSearchLimit(int limit) {
+        if (limit <= 0 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Invalid limit: " + limit);
+        }
+    }
+
+    // Lieux du rectangle : un parcours d'index par cellule geohash couvrante, le rectangle filtré dans la même
+    // requête, au plus maxRows lignes en tout. Une zone qui exigerait des cellules plus grossières que
+    // MIN_SEARCH_PRECISION est refusée. Un rectangle qui traverse l'antiméridien est lu en deux moitiés.
+    private List<PlaceSummary> findValidatedPlacesInCells(BoundingBox box, int maxRows) {
+        Set<String> covering = GeoHash.coveringCells(box, MAX_SEARCH_CELLS);
+        int precision = covering.iterator().next().length();
+        if (covering.size() > MAX_SEARCH_CELLS || precision < MIN_SEARCH_PRECISION) {
+            throw new IllegalArgumentException("Search area too large");
+        }
+        List<BoundingBox> halves = box.crossesAntimeridian()
+                ? List.of(new BoundingBox(box.minLatitude(), box.minLongitude(), box.maxLatitude(), 180),
+                        new BoundingBox(box.minLatitude(), -180, box.maxLatitude(), box.maxLongitude()))
+                : List.of(box);
+        List<PlaceSummary> places = new ArrayList<>();
+        for (BoundingBox half : halves) {
+            for (String cell : GeoHash.cellsAt(half, precision)) {
+                int remaining = maxRows - places.size();
+                if (remaining <= 0) {
+                    return places;
+                }
+                places.addAll(placeRepository.findSummariesByStatusAndGeohashStartingWithAndLatitudeBetweenAndLongitudeBetween(
+                        ValidationStatus.VALIDATED, cell, half.minLatitude(), half.maxLatitude(),
+                        half.minLongitude(), half.maxLongitude(), Limit.of(remaining)));
+            }
+        }
+        return places;
+    }
+
+    private static double distanceKm(PlaceSummary place, double latitude, double longitude) {
+        return BoundingBox.distanceKm(latitude, longitude, place.latitude(), place.longitude());
     }
 }
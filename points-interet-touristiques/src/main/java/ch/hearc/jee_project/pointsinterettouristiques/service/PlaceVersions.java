@@ -0,0 +1,117 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.config.CacheConfig;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceRevision;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Versions des ressources exposées en HTTP, lues en base : toutes les instances
+ * de l'application donnent le même ETag à la même version. Un lieu a pour
+ * version ses colonnes {@code version} (modification, modération) et
+ * {@code rating_version} (votes) ; le catalogue a la sienne dans
+ * {@code catalogue_version} (création, modification, modération, suppression),
+ * incrémentée dans la transaction du changement.
+ * <p>
+ * Une note ne vide pas la liste des lieux validés : ses moyennes peuvent avoir
+ * jusqu'à {@code places.catalogue.averages-max-age} de retard. La liste et son
+ * ETag sont renouvelés ensemble à chaque période.
+ */
+@Component
+public class PlaceVersions {
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Version du catalogue de la liste en cache : une autre valeur en base (écriture d'une autre
+    // instance ou en SQL direct) vide la liste avant que l'ETag correspondant soit servi
+    private volatile long catalogueSeen = -1;
+
+    // Retard maximal des moyennes de la liste des lieux validés, et période déjà servie
+    private final long averagesMaxAgeMillis;
+    private volatile long averagesPeriod;
+
+    public PlaceVersions(CacheManager cacheManager, JdbcTemplate jdbcTemplate,
+                         @Value("${places.catalogue.averages-max-age:1m}") Duration averagesMaxAge) {
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.averagesMaxAgeMillis = averagesMaxAge.toMillis();
+        this.averagesPeriod = System.currentTimeMillis() / averagesMaxAgeMillis;
+    }
+
+    public String placeEtag(Long placeId, PlaceRevision revision) {
+        return "W/\"p" + placeId + "-v" + revision.version() + "-r" + revision.ratingVersion() + "\"";
+    }
+
+    public String catalogueEtag() {
+        return "W/\"c" + currentCatalogueVersion() + "-a" + currentAveragesPeriod() + "\"";
+    }
+
+    // À appeler dans la transaction d'une écriture en SQL direct qui ajoute, modifie ou retire des lieux
+    public void catalogueChanged() {
+        jdbcTemplate.update("UPDATE catalogue_version SET version = version + 1 WHERE id = 1");
+    }
+
+    // Avant le commit, dans la transaction du changement (ou aussitôt, hors transaction)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforePlaceChangeCommit(PlaceChangedEvent event) {
+        if (event.change() != PlaceChangedEvent.Change.RATED) {
+            catalogueChanged();
+        }
+    }
+
+    // Après le commit : caches locaux des lieux touchés. Une note ne touche que les agrégats : la liste
+    // des lieux validés garde ses moyennes (retard borné)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        Cache placesCache = cacheManager.getCache(CacheConfig.PLACES);
+        Cache averagesCache = cacheManager.getCache(CacheConfig.AVERAGE_RATINGS);
+        for (Long id : event.placeIds()) {
+            placesCache.evict(id);
+            averagesCache.evict(id);
+        }
+        if (event.change() != PlaceChangedEvent.Change.RATED) {
+            cacheManager.getCache(CacheConfig.VALIDATED_PLACES).clear();
+        }
+    }
+
+    // Lieu en cache plus ancien que la version lue en base (modifié par une autre instance)
+    public void evictPlace(Long placeId) {
+        cacheManager.getCache(CacheConfig.PLACES).evict(placeId);
+        cacheManager.getCache(CacheConfig.AVERAGE_RATINGS).evict(placeId);
+    }
+
+    private long currentCatalogueVersion() {
+        long version = jdbcTemplate.queryForObject("SELECT version FROM catalogue_version WHERE id = 1", Long.class);
+        if (version != catalogueSeen) {
+            synchronized (this) {
+                if (version != catalogueSeen) {
+                    cacheManager.getCache(CacheConfig.VALIDATED_PLACES).clear();
+                    catalogueSeen = version;
+                }
+            }
+        }
+        return version;
+    }
+
+    // Nouvelle période : la liste en cache est vidée avant que l'ETag de la période soit servi
+    private long currentAveragesPeriod() {
+        long period = System.currentTimeMillis() / averagesMaxAgeMillis;
+        if (period > averagesPeriod) {
+            synchronized (this) {
+                if (period > averagesPeriod) {
+                    cacheManager.getCache(CacheConfig.VALIDATED_PLACES).clear();
+                    averagesPeriod = period;
+                }
+            }
+        }
+        return averagesPeriod;
+    }
+}
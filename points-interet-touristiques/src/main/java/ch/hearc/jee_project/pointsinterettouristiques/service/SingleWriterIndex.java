@@ -0,0 +1,206 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Index en mémoire des lieux tenu par un rédacteur unique : reconstruit depuis la
+ * base au démarrage, puis tenu à jour par les {@link PlaceChangedEvent}, relus et
+ * appliqués dans l'ordre de la file, hors du thread de la requête (cohérence à
+ * terme). L'état courant est remplacé d'un bloc à chaque reconstruction : une
+ * lecture ne voit jamais d'état vide ou partiel, et se fait sans verrou.
+ * <p>
+ * Les écritures des autres instances (ou en SQL direct) ne publient pas
+ * d'événement ici : l'index les rattrape à chaque synchronisation périodique
+ * ({@code places.indexes.sync-interval}). Une version du catalogue différente de
+ * celle lue avant la dernière reconstruction déclenche une reconstruction
+ * complète ; les lieux dont la version de votes a changé sans que l'index l'ait
+ * vue sont relus comme après une note. Plusieurs votes d'une autre instance sur
+ * un même lieu entre deux synchronisations comptent pour un seul changement.
+ * <p>
+ * Une mise à jour qui échoue n'est que journalisée (le changement est déjà
+ * commité) ; l'index est alors reconstruit au changement ou à la synchronisation
+ * suivants.
+ *
+ * @param <S> état de l'index, modifié par le seul rédacteur
+ */
+public abstract class SingleWriterIndex<S> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final String name;
+    private final PlaceRepository placeRepository;
+    private final ExecutorService writer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // État courant, remplacé d'un bloc à chaque reconstruction
+    private volatile S state;
+
+    // Lu et écrit par le seul rédacteur : une mise à jour a échoué, l'index est à reconstruire
+    private boolean outOfSync;
+
+    // Lus et écrits par le seul rédacteur. Version du catalogue lue avant la dernière reconstruction
+    private long catalogueVersion = -1;
+
+    // Versions de votes déjà vues par lieu, au-dessus du seuil de relecture. Le seuil suit avec une
+    // synchronisation de retard le maximum relu : un vote commité tard sous une version déjà dépassée
+    // (transaction plus longue qu'une période) est encore rattrapé
+    private final Map<Long, Long> ratingVersions = new HashMap<>();
+    private long ratingThreshold = -1;
+    private long nextRatingThreshold;
+
+    protected SingleWriterIndex(String name, PlaceRepository placeRepository,
+                                PlatformTransactionManager transactionManager, S initial) {
+        this.name = name;
+        this.placeRepository = placeRepository;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.state = initial;
+    }
+
+    // Reconstruction complète, une fois les données initiales chargées. Au démarrage, l'attente laisse
+    // l'application en REFUSING_TRAFFIC (ACCEPTING_TRAFFIC suit l'ApplicationReadyEvent) jusqu'à la fin
+    // de la construction ; les changements commités entre-temps attendent dans la file.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        await(writer.submit(this::rebuildNow));
+    }
+
+    // Mise à jour incrémentale après le commit, mise en file : la requête répond sans attendre la relecture
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlaceChanged(PlaceChangedEvent event) {
+        long now = System.currentTimeMillis();
+        writer.execute(() -> applyOrRebuild(event, now));
+    }
+
+    // Rattrapage des écritures des autres instances, mis en file derrière les changements locaux
+    @Scheduled(fixedDelayString = "${places.indexes.sync-interval:30s}",
+            initialDelayString = "${places.indexes.sync-interval:30s}")
+    public void synchronize() {
+        writer.execute(this::synchronizeNow);
+    }
+
+    // Attend que les changements déjà en file soient appliqués
+    public void awaitPendingUpdates() {
+        await(writer.submit(() -> { }));
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.shutdownNow();
+    }
+
+    // État courant, pour les lectures
+    protected final S state() {
+        return state;
+    }
+
+    // Sur le rédacteur, dans une transaction en lecture seule : nouvel état complet (previous : état remplacé)
+    protected abstract S build(S previous);
+
+    // Sur le rédacteur : applique un changement à l'état courant
+    protected abstract void apply(S current, PlaceChangedEvent event, long now);
+
+    // Les versions sont lues avant les lieux : une écriture concurrente de la lecture sera revue
+    private void rebuildNow() {
+        long catalogue = placeRepository.findCatalogueVersion();
+        if (ratingThreshold < 0) {
+            ratingThreshold = placeRepository.findMaxRatingVersion();
+            nextRatingThreshold = ratingThreshold;
+        }
+        S previous = state;
+        state = readOnlyTransaction.execute(tx -> build(previous));
+        catalogueVersion = catalogue;
+        outOfSync = false;
+    }
+
+    // Après une erreur, l'index est d'abord reconstruit (ce qui inclut déjà ce changement). Une note
+    // déjà vue par la synchronisation n'est pas appliquée une seconde fois
+    private void applyOrRebuild(PlaceChangedEvent event, long now) {
+        try {
+            if (outOfSync) {
+                rebuildNow();
+                return;
+            }
+            if (event.change() == PlaceChangedEvent.Change.RATED) {
+                List<Long> unseen = unseenRatings(event.placeIds(),
+                        placeRepository.findRatingVersionsByIdIn(event.placeIds()));
+                if (unseen.isEmpty()) {
+                    return;
+                }
+                event = new PlaceChangedEvent(event.change(), unseen);
+            }
+            apply(state, event, now);
+        } catch (RuntimeException ex) {
+            outOfSync = true;
+            log.error("Index {} désynchronisé ({} {}), reconstruction au prochain changement",
+                    name, event.change(), event.placeIds(), ex);
+        }
+    }
+
+    private void synchronizeNow() {
+        try {
+            if (outOfSync || placeRepository.findCatalogueVersion() != catalogueVersion) {
+                rebuildNow();
+            }
+            Map<Long, Long> rated = placeRepository.findRatingVersionsAfter(ratingThreshold);
+            List<Long> unseen = unseenRatings(rated.keySet(), rated);
+            if (!unseen.isEmpty()) {
+                apply(state, new PlaceChangedEvent(PlaceChangedEvent.Change.RATED, unseen), System.currentTimeMillis());
+            }
+            long maxRead = rated.values().stream().mapToLong(Long::longValue).max().orElse(ratingThreshold);
+            ratingThreshold = nextRatingThreshold;
+            nextRatingThreshold = Math.max(nextRatingThreshold, maxRead);
+            ratingVersions.values().removeIf(version -> version <= ratingThreshold);
+        } catch (RuntimeException ex) {
+            outOfSync = true;
+            log.error("Index {} désynchronisé (synchronisation), reconstruction à la suivante", name, ex);
+        }
+    }
+
+    // Lieux dont la version de votes n'a pas encore été vue (lieu absent de la base : relu quand même)
+    private List<Long> unseenRatings(Collection<Long> ids, Map<Long, Long> versions) {
+        List<Long> unseen = new ArrayList<>();
+        for (Long id : ids) {
+            Long version = versions.get(id);
+            if (version == null || !version.equals(ratingVersions.put(id, version))) {
+                unseen.add(id);
+            }
+        }
+        return unseen;
+    }
+
+    private void await(Future<?> task) {
+        try {
+            task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.SyntheticDataReport;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.GeoHash;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Jeux de données synthétiques pour les tests de charge (jusqu'à des millions de
+ * lieux et de notes) : utilisateurs, lieux et notes insérés en JDBC par lots,
+ * sans passer par les entités. Le geohash et les agrégats de notes sont calculés
+ * à la génération. Prévu pour le démarrage, avant la construction des index en
+ * mémoire : les caches ne sont pas invalidés.
+ */
+@Service
+public class SyntheticDataService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataService.class);
+
+    static final String USERNAME_PREFIX = "synthetic-user-";
+
+    // allocationSize de place_seq (Place). Hibernate (optimiseur "pooled") utilise, pour une valeur v
+    // lue dans la séquence, les identifiants v - 49 à v : la génération réserve ses blocs de la même façon
+    private static final int ID_BLOCK = 50;
+
+    private static final String INSERT_PLACE = "INSERT INTO place (id, name, description, location, latitude, "
+            + "longitude, geohash, rating_sum, rating_count, average_rating, status, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_RATING = "INSERT INTO place_ratings (place_id, user_id, rating) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlaceVersions placeVersions;
+    private final int batchSize;
+
+    public SyntheticDataService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                PlaceVersions placeVersions,
+                                @Value("${places.seed.synthetic.batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.placeVersions = placeVersions;
+        this.batchSize = batchSize;
+    }
+
+    // Générer des lieux (90 % validés) et, pour chaque lieu validé, des notes d'utilisateurs distincts.
+    // Même graine, mêmes données ; les utilisateurs synthétiques d'une génération précédente sont repris.
+    public SyntheticDataReport generate(long places, int ratingsPerPlace, int users, long seed) {
+        if (places < 0 || users < 1 || ratingsPerPlace < 0 || ratingsPerPlace > users) {
+            throw new IllegalArgumentException("Invalid synthetic data size");
+        }
+
+        List<Long> userIds = createUsers(users);
+        Random random = new Random(seed);
+        long generated = 0;
+        long ratings = 0;
+        int batches = 0;
+        while (generated < places) {
+            int size = (int) Math.min(batchSize, places - generated);
+            long first = generated;
+            ratings += transactionTemplate.execute(status -> insertBatch(first, size, ratingsPerPlace, userIds, random));
+            generated += size;
+            batches++;
+            log.info("Génération : lot {} inséré ({} lieux sur {}, {} notes)", batches, generated, places, ratings);
+        }
+        return new SyntheticDataReport(users, generated, ratings, batches);
+    }
+
+    private List<Long> createUsers(int users) {
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{USERNAME_PREFIX + i, "password", Role.USER.name()});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "MERGE INTO users (username, password, role) KEY (username) VALUES (?, ?, ?)", rows));
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE ? ORDER BY id FETCH FIRST ? ROWS ONLY",
+                Long.class, USERNAME_PREFIX + "%", users);
+    }
+
+    // Un lot : lieux puis notes, dans la même transaction. Renvoie le nombre de notes insérées
+    private long insertBatch(long first, int size, int ratingsPerPlace, List<Long> userIds, Random random) {
+        List<Long> ids = reserveIds(size);
+        List<Object[]> places = new ArrayList<>(size);
+        List<Object[]> ratings = new ArrayList<>(size * ratingsPerPlace);
+        for (int i = 0; i < size; i++) {
+            long id = ids.get(i);
+            long number = first + i;
+            double latitude = -60 + random.nextDouble() * 130;
+            double longitude = -180 + random.nextDouble() * 360;
+            int draw = random.nextInt(100);
+            ValidationStatus status = draw < 90 ? ValidationStatus.VALIDATED
+                    : draw < 97 ? ValidationStatus.UNVALIDATED
+                    : ValidationStatus.REJECTED;
+
+            // Seuls les lieux validés se notent ; des utilisateurs consécutifs sont forcément distincts
+            int count = status == ValidationStatus.VALIDATED ? ratingsPerPlace : 0;
+            int firstUser = random.nextInt(userIds.size());
+            long sum = 0;
+            for (int r = 0; r < count; r++) {
+                int rating = 1 + random.nextInt(10);
+                sum += rating;
+                ratings.add(new Object[]{id, userIds.get((firstUser + r) % userIds.size()), rating});
+            }
+
+            places.add(new Object[]{id, "Synthetic place " + number, "Lieu généré pour les tests de charge",
+                    "City " + (number % 1000), latitude, longitude,
+                    GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION),
+                    sum, count, count == 0 ? 0.0 : (double) sum / count, status.name()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PLACE, places);
+        jdbcTemplate.batchUpdate(INSERT_RATING, ratings);
+        placeVersions.catalogueChanged(); // Lot commité avec sa version du catalogue
+        return ratings.size();
+    }
+
+    // Identifiants réservés par blocs dans place_seq : ni doublon avec les lieux créés par Hibernate,
+    // ni ajustement de la séquence
+    private List<Long> reserveIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + ID_BLOCK - 1) / ID_BLOCK;
+            for (long value : jdbcTemplate.queryForList(
+                    "SELECT NEXT VALUE FOR place_seq FROM SYSTEM_RANGE(1, ?)", Long.class, blocks)) {
+                for (long id = Math.max(1, value - ID_BLOCK + 1); id <= value && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+}
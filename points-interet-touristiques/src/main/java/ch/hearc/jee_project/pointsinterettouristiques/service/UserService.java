@@ -0,0 +1,54 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.config.CacheConfig;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.UserIdentity;
+import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+@Service
+public class UserService {
+
+    private final UserRepository userRepository;
+
+    public UserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // Identité d'un utilisateur (rôle compris), servie depuis le cache sur le chemin chaud des autorisations
+    @Cacheable(cacheNames = CacheConfig.USER_IDENTITIES, key = "#userId")
+    public UserIdentity getIdentity(Long userId) {
+        return userRepository.findIdentityById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    // Utilisateurs existants parmi ces identifiants, en une seule requête
+    public Set<Long> findExistingIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(userRepository.findExistingIds(userIds));
+    }
+
+    public boolean usernameExists(String username) {
+        return userRepository.findByUsername(username).isPresent();
+    }
+
+    // Créer un user
+    @CacheEvict(cacheNames = CacheConfig.USER_IDENTITIES, key = "#result.id")
+    public User createUser(User user) {
+        return userRepository.save(user);
+    }
+
+    // Supprimer tous les users
+    @CacheEvict(cacheNames = CacheConfig.USER_IDENTITIES, allEntries = true)
+    public void deleteAllUsers() {
+        userRepository.deleteAll();
+    }
+}
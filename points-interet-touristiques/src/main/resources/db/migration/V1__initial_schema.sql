@@ -0,0 +1,39 @@
+-- Schéma initial : tel que généré par Hibernate pour les entités Place et User
+
+create sequence place_seq start with 1 increment by 50;
+
+create table place (
+    id bigint not null,
+    name varchar(255) not null,
+    description varchar(255),
+    location varchar(255) not null,
+    latitude float(53) not null,
+    longitude float(53) not null,
+    geohash varchar(12),
+    rating_sum bigint not null,
+    rating_count bigint not null,
+    average_rating float(53) not null,
+    status enum ('REJECTED','UNVALIDATED','VALIDATED') not null,
+    version bigint default 0 not null,
+    primary key (id)
+);
+
+-- Une note par utilisateur et par lieu : la clé primaire sert aussi aux recherches (place_id, user_id)
+create table place_ratings (
+    place_id bigint not null,
+    user_id bigint not null,
+    rating integer,
+    primary key (place_id, user_id),
+    constraint fk_place_ratings_place foreign key (place_id) references place
+);
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('ADMIN','USER'),
+    primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create index idx_place_status_geohash on place (status, geohash);
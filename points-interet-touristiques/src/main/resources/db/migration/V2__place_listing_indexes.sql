@@ -0,0 +1,13 @@
+-- Index des listes de lieux : toutes filtrent sur le statut puis trient sur une colonne, avec l'identifiant
+-- pour départager (pagination par curseur). Une page est lue dans l'ordre de l'index, sans tri de tous les
+-- lieux du statut : son coût ne dépend plus de la taille de la table. H2 ne considère l'index comme trié
+-- que si le tri commence par le statut (PlaceService l'ajoute en tête).
+
+-- Tri par défaut des pages (sort=name) et des curseurs par nom
+create index idx_place_status_name on place (status, name, id);
+
+-- Meilleures notes d'abord (sort=averageRating,desc)
+create index idx_place_status_rating on place (status, average_rating desc, id);
+
+-- Tri par lieu (sort=location)
+create index idx_place_status_location on place (status, location, id);
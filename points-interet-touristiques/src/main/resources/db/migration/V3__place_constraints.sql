@@ -0,0 +1,13 @@
+-- Contraintes de domaine : la base refuse ce que l'application ne produit jamais, même écrit en SQL direct
+-- (votes, import en masse) ou par un autre client
+
+-- Coordonnées sur le globe (mêmes bornes que BoundingBox et l'import)
+alter table place add constraint ck_place_latitude check (latitude between -90 and 90);
+alter table place add constraint ck_place_longitude check (longitude between -180 and 180);
+
+-- Agrégats des notes tenus par incréments SQL
+alter table place add constraint ck_place_rating_aggregates check (rating_sum >= 0 and rating_count >= 0);
+alter table place add constraint ck_place_average_rating check (average_rating between 0 and 10);
+
+-- Une note va de 1 à 10
+alter table place_ratings add constraint ck_place_ratings_rating check (rating between 1 and 10);
@@ -0,0 +1,7 @@
+-- Jeux de données chargés au démarrage (DataLoader) : la version chargée évite de les recharger
+create table data_seed (
+    name varchar(64) not null,
+    version integer not null,
+    seeded_at timestamp not null,
+    primary key (name)
+);
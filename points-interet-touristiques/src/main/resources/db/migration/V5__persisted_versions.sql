@@ -0,0 +1,15 @@
+-- Versions persistées des ETag, partagées par toutes les instances de l'application.
+-- Votes appliqués par lieu : incrémenté avec les agrégats, sans toucher à la version (verrouillage optimiste)
+alter table place add column rating_version bigint default 0 not null;
+
+-- Version du catalogue des lieux (ETag de /api/places/validatedPlaces) : incrémentée dans la transaction de
+-- chaque création, modification, modération ou suppression, y compris les écritures en SQL direct (données
+-- initiales, jeux synthétiques). Une seule ligne
+create table catalogue_version (
+    id integer not null,
+    version bigint not null,
+    primary key (id),
+    constraint ck_catalogue_version_single_row check (id = 1)
+);
+
+insert into catalogue_version (id, version) values (1, 0);
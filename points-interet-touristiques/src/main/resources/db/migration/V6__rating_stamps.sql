@@ -0,0 +1,7 @@
+-- Votes datés par un compteur global : chaque application d'un vote donne à rating_version la valeur
+-- suivante de la séquence (toujours croissante par lieu, l'ETag reste valable). Les index en mémoire de
+-- chaque instance relisent ainsi les lieux notés par une autre instance depuis leur dernier passage
+create sequence place_rating_stamp_seq;
+alter sequence place_rating_stamp_seq restart with (select coalesce(max(rating_version), 0) + 1 from place);
+
+create index idx_place_rating_version on place (rating_version);
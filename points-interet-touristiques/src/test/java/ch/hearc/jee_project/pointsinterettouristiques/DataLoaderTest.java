@@ -0,0 +1,62 @@
+package ch.hearc.jee_project.pointsinterettouristiques;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Le contexte a déjà exécuté le chargement une fois au démarrage
+@SpringBootTest(properties = "spring.profiles.active=test")
+class DataLoaderTest {
+
+    @Autowired
+    private DataLoader dataLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Test : La version chargée est notée
+    @Test
+    void startup_shouldRecordSeedVersion() {
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM data_seed WHERE name = ?", Integer.class,
+                DataLoader.SEED_NAME)).isEqualTo(DataLoader.SEED_VERSION);
+    }
+
+    // Test : Un nouveau démarrage ne touche pas aux données
+    @Test
+    void run_whenAlreadySeeded_shouldNotInsert() {
+        long places = count("place");
+        long ratings = count("place_ratings");
+
+        dataLoader.run();
+
+        assertThat(count("place")).isEqualTo(places);
+        assertThat(count("place_ratings")).isEqualTo(ratings);
+    }
+
+    // Test : Sans version notée (nouvelle version des données), seuls les comptes et lieux absents sont ajoutés
+    // (d'autres tests du même contexte peuvent les avoir supprimés : un premier passage les rétablit)
+    @Test
+    void run_withoutRecordedVersion_shouldNotDuplicate() {
+        jdbcTemplate.update("DELETE FROM data_seed");
+        dataLoader.run();
+        jdbcTemplate.update("DELETE FROM data_seed");
+        long users = count("users");
+        long places = count("place");
+
+        dataLoader.run();
+
+        assertThat(count("users")).isEqualTo(users);
+        assertThat(count("place")).isEqualTo(places);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM place "
+                + "WHERE name = 'Tour Eiffel' AND rating_count = 2 AND average_rating = 9", Long.class)).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM data_seed WHERE name = ?", Integer.class,
+                DataLoader.SEED_NAME)).isEqualTo(DataLoader.SEED_VERSION);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,77 @@
+package ch.hearc.jee_project.pointsinterettouristiques;
+
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Profil prod sur une base en mémoire : réglages du pool, de Hibernate et métriques du pool
+@SpringBootTest(properties = {
+        "spring.profiles.active=prod",
+        "spring.datasource.url=jdbc:h2:mem:prodprofile;QUERY_CACHE_SIZE=64"
+})
+class ProdProfileTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void hikariPool_shouldBeSizedAndFixed() {
+        assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        assertThat(hikari.getPoolName()).isEqualTo("places-pool");
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(10);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(10);
+        assertThat(hikari.getConnectionTimeout()).isEqualTo(3000);
+    }
+
+    @Test
+    void hibernate_shouldBatchAndOrderWrites() {
+        assertThat(entityManagerFactory.getProperties())
+                .containsEntry("hibernate.jdbc.batch_size", "50")
+                .containsEntry("hibernate.order_inserts", "true")
+                .containsEntry("hibernate.order_updates", "true")
+                .containsEntry("hibernate.jdbc.fetch_size", "100");
+    }
+
+    @Test
+    void poolMetrics_shouldBeExposed() {
+        placeRepository.count();
+
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "places-pool").gauge().value())
+                .isEqualTo(10);
+        assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", "places-pool").gauge())
+                .isNotNull();
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "places-pool").timer();
+        assertThat(acquire.count()).isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.usage").tag("pool", "places-pool").timer().count())
+                .isPositive();
+    }
+
+    // Pas de données de démonstration en production
+    @Test
+    void demoData_shouldNotBeLoaded() {
+        assertThat(applicationContext.getBeansOfType(DataLoader.class)).isEmpty();
+    }
+}
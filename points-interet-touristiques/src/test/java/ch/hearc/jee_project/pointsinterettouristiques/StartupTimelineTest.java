@@ -0,0 +1,65 @@
+package ch.hearc.jee_project.pointsinterettouristiques;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Application démarrée comme par main() (la chronologie n'est enregistrée qu'ainsi), sur un port libre.
+// Sans cache de second niveau : le gestionnaire JCache est partagé avec les contextes des autres tests
+class StartupTimelineTest {
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    // Test : Les étapes du démarrage (JPA, données initiales, sécurité) sont exposées par l'actuator
+    @Test
+    void startupEndpoint_shouldExposeBootSteps() throws Exception {
+        try (ConfigurableApplicationContext context = start("test")) {
+            String timeline = get(context, "/actuator/startup").body();
+
+            assertThat(timeline)
+                    .contains("\"name\":\"spring.beans.instantiate\"")
+                    .contains("\"value\":\"&entityManagerFactory\"")
+                    .contains("\"value\":\"securityFilterChain\"")
+                    .contains("\"name\":\"places.seed.demo\"");
+            // Lecture seule : un client anonyme ne peut pas vider la chronologie
+            assertThat(post(context, "/actuator/startup").statusCode()).isBetween(400, 499);
+        }
+    }
+
+    // Test : Avec le profil faststart, les contrôleurs ne sont créés qu'à la première requête
+    @Test
+    void faststartProfile_shouldCreateControllersOnFirstRequest() throws Exception {
+        try (ConfigurableApplicationContext context = start("test,faststart")) {
+            assertThat(get(context, "/actuator/startup").body()).doesNotContain("\"value\":\"placeController\"");
+
+            assertThat(get(context, "/api/places/validatedPlaces").statusCode()).isEqualTo(200);
+        }
+    }
+
+    private ConfigurableApplicationContext start(String profiles) {
+        return PointsInteretTouristiquesApplication.application().run(
+                "--spring.profiles.active=" + profiles,
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+    }
+
+    private HttpResponse<String> get(ConfigurableApplicationContext context, String path) throws Exception {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(ConfigurableApplicationContext context, String path) throws Exception {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
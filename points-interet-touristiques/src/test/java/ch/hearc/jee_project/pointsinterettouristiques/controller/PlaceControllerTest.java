@@ -1,16 +1,34 @@
 package ch.hearc.jee_project.pointsinterettouristiques.controller;
 
+import ch.hearc.jee_project.pointsinterettouristiques.leaderboard.PlaceLeaderboards;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
 import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
 import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +44,15 @@ public class PlaceControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlaceLeaderboards placeLeaderboards;
+
     private User adminUser;
     private User normalUser;
     private Place validatedPlace;
@@ -594,7 +621,747 @@ public class PlaceControllerTest {
                 .andExpect(jsonPath("$.content[0].status").value("REJECTED"));
     }
 
+    // Test : Rechercher les lieux validés autour d'un point
+    @Test
+    public void getPlacesNearby_shouldReturnClosestValidatedPlacesFirst() throws Exception {
+        mockMvc.perform(get("/api/places/nearby")
+                        .param("lat", "48.8566")
+                        .param("lon", "2.3522")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Validated Place"))
+                .andExpect(jsonPath("$[?(@.name == 'Validated Place 1')]").isEmpty())
+                .andExpect(jsonPath("$[?(@.name == 'Unvalidated Place')]").isEmpty());
+    }
+
+    @Test
+    public void getPlacesNearby_withInvalidCoordinates_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/places/nearby")
+                        .param("lat", "120")
+                        .param("lon", "2.3522")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test : Un rayon non fini, nul ou trop grand est refusé au lieu de parcourir tout le catalogue
+    @Test
+    public void getPlacesNearby_withUnboundedRadius_shouldReturnBadRequest() throws Exception {
+        for (String radius : List.of("NaN", "Infinity", "0", "100000")) {
+            mockMvc.perform(get("/api/places/nearby")
+                            .param("lat", "48.8566")
+                            .param("lon", "2.3522")
+                            .param("radiusKm", radius))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    // Test : Le nombre de résultats est borné par limit, les plus proches d'abord
+    @Test
+    public void getPlacesNearby_withLimit_shouldReturnClosestPlacesOnly() throws Exception {
+        mockMvc.perform(get("/api/places/nearby")
+                        .param("lat", "48.8566")
+                        .param("lon", "2.3522")
+                        .param("radiusKm", "100")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Validated Place"));
+
+        mockMvc.perform(get("/api/places/nearby")
+                        .param("lat", "48.8566")
+                        .param("lon", "2.3522")
+                        .param("radiusKm", "5")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test : Rechercher les lieux validés dans un rectangle
+    @Test
+    public void getPlacesWithin_shouldReturnValidatedPlacesInBox() throws Exception {
+        mockMvc.perform(get("/api/places/within")
+                        .param("minLat", "49.5")
+                        .param("minLon", "3.0")
+                        .param("maxLat", "50.0")
+                        .param("maxLon", "3.5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Validated Place 1"))
+                .andExpect(jsonPath("$[?(@.name == 'Validated Place 2')]").isEmpty());
+    }
+
+    // Test : Parcourir les lieux validés par curseur, sans doublon et dans l'ordre
+    @Test
+    public void getValidatedPlacesByCursor_shouldWalkAllPagesInOrder() throws Exception {
+        List<String> names = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/places/validatedPlaces/cursor")
+                    .param("size", "4")
+                    .param("sort", "name,asc");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(org.hamcrest.Matchers.lessThanOrEqualTo(4)))
+                    .andReturn().getResponse().getContentAsString();
+            names.addAll(JsonPath.read(response, "$.content[*].name"));
+            ids.addAll(JsonPath.read(response, "$.content[*].id"));
+            cursor = JsonPath.read(response, "$.nextCursor");
+        } while (cursor != null);
+
+        assertThat(names).hasSizeGreaterThanOrEqualTo(16).isSorted();
+        assertThat(new HashSet<>(ids)).hasSameSizeAs(ids);
+    }
+
+    @Test
+    public void getValidatedPlacesByCursor_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/places/validatedPlaces/cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        // Un curseur obtenu pour un autre tri est refusé
+        String response = mockMvc.perform(get("/api/places/validatedPlaces/cursor")
+                        .param("size", "2")
+                        .param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(response, "$.nextCursor");
+        mockMvc.perform(get("/api/places/validatedPlaces/cursor")
+                        .param("sort", "averageRating,desc")
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getRejectedPlacesByCursor_withUnsupportedSort_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/places/rejectedPlaces/cursor")
+                        .param("sort", "description,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test : Import CSV en masse, les lignes invalides sont rejetées avec leur numéro
+    @Test
+    public void importPlaces_csv_shouldImportValidRowsAndReportErrors() throws Exception {
+        String csv = """
+                name,description,location,latitude,longitude
+                Chasseral,"Sommet du Jura, antenne",Saint-Imier,47.1329,7.0593
+                Creux du Van,,Noiraigue,46.9339,6.7272
+                ,Sans nom,Neuchâtel,46.99,6.93
+                Lac de Neuchâtel,,Neuchâtel,abc,6.93
+                """;
+
+        mockMvc.perform(post("/api/places/import")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.batches").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("line 4: missing name"))
+                .andExpect(jsonPath("$.errors[1]").value("line 5: invalid coordinates"));
+
+        mockMvc.perform(get("/api/places/unvalidatedPlaces")
+                        .param("userId", String.valueOf(adminUser.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Chasseral')].description").value("Sommet du Jura, antenne"));
+    }
+
+    // Test : Un champ CSV entre guillemets peut contenir des retours à la ligne ; les erreurs donnent
+    // la première ligne de l'enregistrement
+    @Test
+    public void importPlaces_csv_withQuotedNewlines_shouldKeepRecordsWhole() throws Exception {
+        String csv = """
+                name,description,location,latitude,longitude
+                Saut du Doubs,"Chute de 27 m
+                sur le ""Doubs""\",Les Brenets,47.0639,6.7356
+                ,"Sans nom
+                sur deux lignes",Neuchâtel,46.99,6.93
+                Mont Soleil,,Saint-Imier,47.16,6.99
+                """;
+
+        mockMvc.perform(post("/api/places/import")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("line 4: missing name"));
+
+        mockMvc.perform(get("/api/places/unvalidatedPlaces")
+                        .param("userId", String.valueOf(adminUser.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Saut du Doubs')].description").value("Chute de 27 m\nsur le \"Doubs\""))
+                .andExpect(jsonPath("$[?(@.name == 'Mont Soleil')]").isNotEmpty());
+    }
+
+    // Test : Un guillemet CSV jamais refermé donne 400 avec la ligne où l'enregistrement commence
+    @Test
+    public void importPlaces_csv_withUnterminatedQuote_shouldReturnBadRequestWithLine() throws Exception {
+        String csv = """
+                name,description,location,latitude,longitude
+                Tête de Ran,,Les Hauts-Geneveys,47.05,6.85
+                Vue des Alpes,"Col sans fin,La Vue-des-Alpes,47.07,6.87
+                Mont Racine,,Les Geneveys,47.03,6.80
+                """;
+
+        mockMvc.perform(post("/api/places/import")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("line 3: unterminated quoted field"));
+    }
+
+    // Test : Import NDJSON avec un statut imposé
+    @Test
+    public void importPlaces_ndjson_withStatus_shouldImportAsValidated() throws Exception {
+        String ndjson = """
+                {"name":"Aletsch","location":"Valais","latitude":46.5,"longitude":8.03}
+                {"name":"Lavaux","location":"Vaud","latitude":46.49,"longitude":"x"}
+                """;
+
+        mockMvc.perform(post("/api/places/import")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .param("status", "VALIDATED")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1));
+
+        mockMvc.perform(get("/api/places/validatedPlaces"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Aletsch')]").isNotEmpty());
+    }
+
+    // Test : Un JSON mal formé donne 400 avec sa position ; les objets qui le précèdent sont importés
+    @Test
+    public void importPlaces_malformedJson_shouldReturnBadRequestWithLocation() throws Exception {
+        String ndjson = """
+                {"name":"Grimsel","location":"Berne","latitude":46.56,"longitude":8.33}
+                {"name":"Furka","location":"Uri",
+                """;
+
+        mockMvc.perform(post("/api/places/import")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0]").value(startsWith("line 3: malformed JSON at column")));
+
+        mockMvc.perform(post("/api/places/import")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .contentType("application/json")
+                        .content("[{\"name\": }]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.errors[0]").value("line 1: malformed JSON at column 11"));
+    }
+
+    @Test
+    public void importPlaces_asUser_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/places/import")
+                        .param("userId", String.valueOf(normalUser.getId()))
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // Test : Export NDJSON des lieux validés, un objet par ligne, triés par ID
+    @Test
+    public void exportValidatedPlaces_shouldStreamOneJsonObjectPerLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/places/validatedPlaces/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String list = mockMvc.perform(get("/api/places/validatedPlaces"))
+                .andReturn().getResponse().getContentAsString();
+        List<Integer> expectedIds = JsonPath.read(list, "$[*].id");
+
+        assertThat(body).endsWith("\n");
+        List<Integer> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            assertThat(JsonPath.<String>read(line, "$.status")).isEqualTo("VALIDATED");
+            ids.add(JsonPath.read(line, "$.id"));
+        }
+        assertThat(ids).isSorted().containsExactlyInAnyOrderElementsOf(expectedIds);
+    }
+
+    // Test : Export admin filtré par statut
+    @Test
+    public void exportPlaces_asAdmin_withStatus_shouldOnlyExportThatStatus() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/places/export")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .param("status", "REJECTED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSizeGreaterThanOrEqualTo(5);
+        for (String line : lines) {
+            assertThat(JsonPath.<String>read(line, "$.status")).isEqualTo("REJECTED");
+        }
+    }
+
+    @Test
+    public void exportPlaces_asUser_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/places/export")
+                        .param("userId", String.valueOf(normalUser.getId())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // Crée un lieu puis le valide via l'admin
+    private Place createValidatedPlace(String name, String description, String location) throws Exception {
+        Place place = new Place();
+        place.setName(name);
+        place.setDescription(description);
+        place.setLocation(location);
+        place.setLatitude(46.414);
+        place.setLongitude(6.927);
+        String response = mockMvc.perform(post("/api/places")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(place)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        place = objectMapper.readValue(response, Place.class);
+        mockMvc.perform(patch("/api/places/" + place.getId() + "/validate")
+                        .param("userId", String.valueOf(adminUser.getId())))
+                .andExpect(status().isOk());
+        return place;
+    }
+
+    // Test : Recherche sans accents ni casse, le nom pèse plus que la description
+    @Test
+    public void searchPlaces_shouldBeAccentInsensitiveAndRanked() throws Exception {
+        Place inDescription = createValidatedPlace("Quai fleuri", "Vue sur le Château de Montreux-Veytaux", "Montreux");
+        Place inName = createValidatedPlace("Château de Veytaux", "Forteresse sur un rocher", "Veytaux");
+
+        mockMvc.perform(get("/api/places/search")
+                        .param("q", "CHATEAU veytaux"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(inName.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(inDescription.getId()));
+
+        mockMvc.perform(get("/api/places/search")
+                        .param("q", "veytaux")
+                        .param("size", "1")
+                        .param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(inDescription.getId()));
+    }
+
+    // Test : L'index suit les modifications (lieux non validés exclus, lieux supprimés retirés)
+    @Test
+    public void searchPlaces_shouldFollowModerationAndDeletion() throws Exception {
+        Place place = new Place();
+        place.setName("Gorges de l'Areuse");
+        place.setLocation("Boudry");
+        place.setLatitude(46.95);
+        place.setLongitude(6.84);
+        place = objectMapper.readValue(mockMvc.perform(post("/api/places")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(place)))
+                .andReturn().getResponse().getContentAsString(), Place.class);
+
+        mockMvc.perform(get("/api/places/search").param("q", "areuse"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+
+        mockMvc.perform(patch("/api/places/" + place.getId() + "/validate")
+                        .param("userId", String.valueOf(adminUser.getId())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/places/search").param("q", "areuse"))
+                .andExpect(jsonPath("$.content[0].name").value("Gorges de l'Areuse"));
+
+        mockMvc.perform(delete("/api/places/" + place.getId())
+                .param("userId", String.valueOf(adminUser.getId())));
+        mockMvc.perform(get("/api/places/search").param("q", "areuse"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    public void searchPlaces_withBlankQuery_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/places/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test : Envoi groupé de notes, avec un résultat par note et des agrégats justes
+    @Test
+    public void ratePlaces_batch_shouldApplyRatingsAndReportEachItem() throws Exception {
+        String batch = """
+                [
+                  {"placeId": %1$d, "userId": %2$d, "rating": 4},
+                  {"placeId": %1$d, "userId": %3$d, "rating": 6},
+                  {"placeId": %1$d, "userId": %2$d, "rating": 10},
+                  {"placeId": %1$d, "userId": %2$d, "rating": 0},
+                  {"placeId": %4$d, "userId": %2$d, "rating": 5},
+                  {"placeId": %1$d, "userId": 999999, "rating": 5}
+                ]
+                """.formatted(validatedPlace.getId(), normalUser.getId(), adminUser.getId(), unvalidatedPlace.getId());
+
+        mockMvc.perform(post("/api/places/ratings")
+                        .contentType("application/json")
+                        .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[*].outcome").value(org.hamcrest.Matchers.contains(
+                        "APPLIED", "APPLIED", "APPLIED", "INVALID_RATING", "PLACE_NOT_VALIDATED", "USER_NOT_FOUND")));
+
+        mockMvc.perform(get("/api/places/" + validatedPlace.getId() + "/average-rating"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("8.0"));
+
+        // Rejouer le lot ne change rien : les notes sont remplacées, pas ajoutées
+        mockMvc.perform(post("/api/places/ratings")
+                        .contentType("application/json")
+                        .content(batch))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/places/" + validatedPlace.getId() + "/ratings"))
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/api/places/" + validatedPlace.getId() + "/average-rating"))
+                .andExpect(content().string("8.0"));
+    }
+
+    @Test
+    public void ratePlaces_emptyBatch_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/places/ratings")
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
 
+    // Test : Validation en masse par identifiants, avec les identifiants inconnus signalés
+    @Test
+    public void validatePlaces_byIds_shouldReportUpdatedAndNotFound() throws Exception {
+        String body = "{\"ids\": [%d, %d, 999999]}".formatted(unvalidatedPlace.getId(), validatedPlace.getId());
 
+        mockMvc.perform(patch("/api/places/validate")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .contentType("application/json")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1)) // le lieu déjà validé ne change pas
+                .andExpect(jsonPath("$.notFound[0]").value(999999));
+
+        mockMvc.perform(get("/api/places/" + unvalidatedPlace.getId())
+                        .param("userId", String.valueOf(adminUser.getId())))
+                .andExpect(jsonPath("$.status").value("VALIDATED"));
+    }
+
+    // Test : Rejet en masse de toute la file des lieux non validés
+    @Test
+    public void rejectPlaces_byStatus_shouldEmptyTheQueue() throws Exception {
+        mockMvc.perform(patch("/api/places/reject")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .contentType("application/json")
+                        .content("{\"status\": \"UNVALIDATED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(org.hamcrest.Matchers.greaterThanOrEqualTo(11)))
+                .andExpect(jsonPath("$.notFound").isEmpty());
+
+        mockMvc.perform(get("/api/places/unvalidatedPlaces")
+                        .param("userId", String.valueOf(adminUser.getId())))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    public void validatePlaces_asUserOrWithoutSelection_shouldBeRefused() throws Exception {
+        mockMvc.perform(patch("/api/places/validate")
+                        .param("userId", String.valueOf(normalUser.getId()))
+                        .contentType("application/json")
+                        .content("{\"ids\": [%d]}".formatted(unvalidatedPlace.getId())))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(patch("/api/places/validate")
+                        .param("userId", String.valueOf(adminUser.getId()))
+                        .contentType("application/json")
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test : Un ETag inchangé est validé par un 304 sans charger le lieu : aucune requête Hibernate,
+    // seule la lecture JDBC de son statut et de ses versions
+    @Test
+    public void getPlaceById_withMatchingEtag_shouldReturnNotModifiedWithoutLoadingPlace() throws Exception {
+        String etag = mockMvc.perform(get("/api/places/" + validatedPlace.getId())
+                        .param("userId", String.valueOf(normalUser.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/api/places/" + validatedPlace.getId())
+                        .param("userId", String.valueOf(normalUser.getId()))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    // Test : Un ETag rejoué ne contourne ni la visibilité (401) ni l'existence (404) du lieu
+    @Test
+    public void getPlaceById_withReplayedEtag_shouldStillCheckVisibilityAndExistence() throws Exception {
+        String etag = mockMvc.perform(get("/api/places/" + unvalidatedPlace.getId())
+                        .param("userId", String.valueOf(adminUser.getId())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/places/" + unvalidatedPlace.getId())
+                        .param("userId", String.valueOf(normalUser.getId()))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/places/" + Long.MAX_VALUE)
+                        .param("userId", String.valueOf(normalUser.getId()))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotFound());
+    }
+
+    // Test : Une note change la version du lieu : l'ancien ETag ne correspond plus
+    @Test
+    public void averageRating_afterRating_shouldChangeEtag() throws Exception {
+        String path = "/api/places/" + validatedPlace.getId() + "/average-rating";
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get(path).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/places/" + validatedPlace.getId() + "/rate")
+                        .param("userId", String.valueOf(normalUser.getId()))
+                        .param("rating", "8"))
+                .andExpect(status().isOk());
+
+        String newEtag = mockMvc.perform(get(path).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string("8.0"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newEtag).isNotEqualTo(etag);
+        mockMvc.perform(get("/api/places/" + validatedPlace.getId() + "/ratings").header("If-None-Match", newEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    // Test : Une note ne change pas la version du catalogue : ses moyennes ont un retard borné
+    @Test
+    public void validatedPlaces_afterRating_shouldKeepEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/places/validatedPlaces"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
 
+        mockMvc.perform(post("/api/places/" + validatedPlace.getId() + "/rate")
+                        .param("userId", String.valueOf(normalUser.getId()))
+                        .param("rating", "6"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/places/validatedPlaces").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    // Test : Le catalogue des lieux validés change de version à chaque modération
+    @Test
+    public void validatedPlaces_afterModeration_shouldChangeEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/places/validatedPlaces"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/places/validatedPlaces").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/places/" + unvalidatedPlace.getId() + "/validate")
+                        .param("userId", String.valueOf(adminUser.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/places/validatedPlaces").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$[?(@.id == " + unvalidatedPlace.getId() + ")]").exists());
+    }
+
+    // Test : La version du catalogue est lue en base : une écriture d'une autre instance change l'ETag et vide la liste
+    @Test
+    public void validatedPlaces_afterCatalogueChangedElsewhere_shouldChangeEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/places/validatedPlaces"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        jdbcTemplate.update("UPDATE place SET name = 'Renommé ailleurs', version = version + 1 WHERE id = ?",
+                validatedPlace.getId());
+        jdbcTemplate.update("UPDATE catalogue_version SET version = version + 1 WHERE id = 1");
+
+        mockMvc.perform(get("/api/places/validatedPlaces").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$[?(@.id == " + validatedPlace.getId() + ")].name").value("Renommé ailleurs"));
+    }
+
+    // Test : La version du lieu est lue en base : un lieu en cache plus ancien est rechargé, avec le nouvel ETag
+    @Test
+    public void getPlaceById_afterChangeElsewhere_shouldServeCurrentVersion() throws Exception {
+        String path = "/api/places/" + validatedPlace.getId();
+        String etag = mockMvc.perform(get(path).param("userId", String.valueOf(normalUser.getId())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        jdbcTemplate.update("UPDATE place SET name = 'Renommé ailleurs', version = version + 1 WHERE id = ?",
+                validatedPlace.getId());
+
+        String newEtag = mockMvc.perform(get(path).param("userId", String.valueOf(normalUser.getId()))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renommé ailleurs"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newEtag).isNotEqualTo(etag);
+        mockMvc.perform(get(path).param("userId", String.valueOf(normalUser.getId()))
+                        .header("If-None-Match", newEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    // Test : Les marqueurs du rectangle ne portent que l'identifiant, le nom, la position et la moyenne
+    @Test
+    public void getMarkersWithin_shouldReturnSlimMarkers() throws Exception {
+        mockMvc.perform(get("/api/places/markers")
+                        .param("minLat", "49.5")
+                        .param("minLon", "3.0")
+                        .param("maxLat", "50.0")
+                        .param("maxLon", "3.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value("Validated Place 1"))
+                .andExpect(jsonPath("$[0].latitude").isNumber())
+                .andExpect(jsonPath("$[0].averageRating").isNumber())
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].ratings").doesNotExist());
+
+        mockMvc.perform(get("/api/places/markers")
+                        .param("minLat", "50.0")
+                        .param("minLon", "3.0")
+                        .param("maxLat", "49.5")
+                        .param("maxLon", "3.5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test : Un rectangle couvrant le monde entier exigerait des cellules trop grossières : refusé
+    @Test
+    public void getMarkersWithin_wholeWorld_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/places/markers")
+                        .param("minLat", "-90")
+                        .param("minLon", "-180")
+                        .param("maxLat", "90")
+                        .param("maxLon", "180"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/places/within")
+                        .param("minLat", "-90")
+                        .param("minLon", "-180")
+                        .param("maxLat", "90")
+                        .param("maxLon", "180"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test : Avec Accept: application/cbor, la même réponse arrive en CBOR, plus compacte que le JSON
+    @Test
+    public void getMarkersWithin_acceptingCbor_shouldReturnSmallerEquivalentPayload() throws Exception {
+        var request = get("/api/places/markers")
+                .param("minLat", "45.0")
+                .param("minLon", "2.0")
+                .param("maxLat", "51.0")
+                .param("maxLon", "6.0");
+        byte[] json = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(request.accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode fromJson = objectMapper.readTree(json);
+        JsonNode fromCbor = new CBORMapper().readTree(cbor);
+        assertThat(fromCbor.size()).isGreaterThanOrEqualTo(16);
+        assertThat(fromCbor).isEqualTo(fromJson);
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    // Test : JSON et CBOR partagent l'ETag (faible) de la version : un 304 vaut pour les deux formats
+    @Test
+    public void validatedPlaces_acceptingCbor_shouldShareWeakEtagAndVaryOnAccept() throws Exception {
+        String etag = mockMvc.perform(get("/api/places/validatedPlaces"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", org.hamcrest.Matchers.containsString("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("W/");
+
+        byte[] cbor = mockMvc.perform(get("/api/places/validatedPlaces").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new CBORMapper().readTree(cbor).findValuesAsText("name")).contains("Validated Place");
+
+        mockMvc.perform(get("/api/places/validatedPlaces").accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    // Test : Classements des meilleurs lieux (global, par région) et de la tendance ; limite bornée
+    @Test
+    public void leaderboards_shouldRankRatedPlacesAndRejectInvalidLimit() throws Exception {
+        mockMvc.perform(post("/api/places/" + validatedPlace.getId() + "/rate")
+                        .param("userId", String.valueOf(normalUser.getId()))
+                        .param("rating", "9"))
+                .andExpect(status().isOk());
+        placeLeaderboards.awaitPendingUpdates();
+
+        mockMvc.perform(get("/api/places/leaderboards/top").param("region", "paris"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(validatedPlace.getId()))
+                .andExpect(jsonPath("$[0].averageRating").value(9.0));
+        mockMvc.perform(get("/api/places/leaderboards/top").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + validatedPlace.getId() + ")]").exists())
+                .andExpect(jsonPath("$[?(@.id == " + unvalidatedPlace.getId() + ")]").isEmpty());
+        mockMvc.perform(get("/api/places/leaderboards/trending").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + validatedPlace.getId() + ")]").exists());
+
+        mockMvc.perform(get("/api/places/leaderboards/top").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/places/leaderboards/trending").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test : Regroupements d'une vue dézoomée (la cellule de Paris contient aussi les données de démonstration
+    // et les lieux des tests précédents) ; zoom, bbox et nombre de cellules contrôlés
+    @Test
+    public void getClusters_shouldAggregateValidatedPlacesAndValidateParameters() throws Exception {
+        mockMvc.perform(get("/api/places/clusters")
+                        .param("bbox", "2.0,48.5,2.7,49.0")
+                        .param("zoom", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].geohash").value("u09t"))
+                .andExpect(jsonPath("$[0].count").value(org.hamcrest.Matchers.greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$[0].representative.id").isNumber())
+                .andExpect(jsonPath("$[0].latitude").value(org.hamcrest.Matchers.closeTo(48.8, 0.1)));
+
+        mockMvc.perform(get("/api/places/clusters").param("bbox", "2.0,48.5,2.7,49.0").param("zoom", "23"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/places/clusters").param("bbox", "2.0,48.5,2.7").param("zoom", "5"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/places/clusters").param("bbox", "-180,-90,180,90").param("zoom", "18"))
+                .andExpect(status().isBadRequest());
+    }
 }
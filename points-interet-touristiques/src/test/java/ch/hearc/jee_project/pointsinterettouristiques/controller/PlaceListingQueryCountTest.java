@@ -0,0 +1,105 @@
+package ch.hearc.jee_project.pointsinterettouristiques.controller;
+
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Les listes de lieux ne doivent jamais charger les notes : le nombre de requêtes
+ * par appel est fixe, quel que soit le nombre de lieux retournés.
+ */
+@SpringBootTest(properties = "spring.profiles.active=test")
+@AutoConfigureMockMvc
+public class PlaceListingQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    public void paginatedListing_shouldUseFixedQueryCount() throws Exception {
+        RequestBuilder request = get("/api/places/validatedPlaces/paginated").param("size", "50");
+
+        seedValidatedPlacesWithRatings(3);
+        long fewPlaces = statementsFor(request);
+
+        seedValidatedPlacesWithRatings(30);
+        long manyPlaces = statementsFor(request);
+
+        // Une requête pour la page, une pour le total
+        assertThat(fewPlaces).isEqualTo(2);
+        assertThat(manyPlaces).isEqualTo(fewPlaces);
+    }
+
+    @Test
+    public void validatedListing_shouldUseSingleQuery() throws Exception {
+        seedValidatedPlacesWithRatings(20);
+        long collectionFetchesBefore = statistics.getCollectionFetchCount();
+
+        assertThat(statementsFor(get("/api/places/validatedPlaces"))).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isEqualTo(collectionFetchesBefore);
+    }
+
+    @Test
+    public void cursorListing_shouldUseSingleQuery() throws Exception {
+        seedValidatedPlacesWithRatings(20);
+
+        assertThat(statementsFor(get("/api/places/validatedPlaces/cursor").param("size", "50"))).isEqualTo(1);
+    }
+
+    private long statementsFor(RequestBuilder request) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private void seedValidatedPlacesWithRatings(int count) {
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Place place = new Place();
+            place.setName("Counted Place " + i);
+            place.setLocation("Bienne");
+            place.setLatitude(47.1368);
+            place.setLongitude(7.2468);
+            place.setStatus(ValidationStatus.VALIDATED);
+            place.addOrUpdateRating(1L, 6);
+            place.addOrUpdateRating(2L, 8);
+            places.add(place);
+        }
+        placeRepository.saveAll(places);
+    }
+}
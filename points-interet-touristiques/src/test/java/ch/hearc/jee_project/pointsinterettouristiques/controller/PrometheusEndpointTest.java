@@ -0,0 +1,70 @@
+package ch.hearc.jee_project.pointsinterettouristiques.controller;
+
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.profiles.active=test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlaceExportService placeExportService;
+
+    // Test : Les durées des endpoints, des méthodes de service et les statistiques Hibernate sont exportées
+    @Test
+    public void prometheus_shouldExposeEndpointServiceAndHibernateMetrics() throws Exception {
+        mockMvc.perform(get("/api/places/validatedPlaces")).andExpect(status().isOk());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+                .contains("http_server_requests_seconds_count{")
+                .contains("uri=\"/api/places/validatedPlaces\"")
+                .contains("places_service_seconds_bucket{")
+                .containsPattern("places_service_seconds_count\\{[^}]*class=\"[^\"]*PlaceService\"[^}]*method=\"getValidatedPlaces\"")
+                .contains("hibernate_query_executions_total{")
+                .contains("hibernate_statements_total{");
+    }
+
+    // Test : L'export a sa propre métrique, distincte de celle des opérations courantes de PlaceService
+    @Test
+    public void prometheus_shouldExposeExportUnderItsOwnMetric() throws Exception {
+        placeExportService.exportPlaces(List.of(ValidationStatus.VALIDATED), OutputStream.nullOutputStream());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+                .containsPattern("places_export_seconds_count\\{[^}]*class=\"[^\"]*PlaceExportService\"[^}]*method=\"exportPlaces\"")
+                .doesNotContainPattern("places_service_seconds_count\\{[^}]*class=\"[^\"]*PlaceExportService\"");
+    }
+
+    // Test : Les endpoints actuator sont en lecture seule : les caches se consultent mais ne se vident pas
+    @Test
+    public void actuator_shouldRefuseWriteOperations() throws Exception {
+        mockMvc.perform(get("/actuator/caches")).andExpect(status().isOk());
+        mockMvc.perform(delete("/actuator/caches")).andExpect(status().is4xxClientError());
+        mockMvc.perform(delete("/actuator/caches/validatedPlaces")).andExpect(status().is4xxClientError());
+    }
+}
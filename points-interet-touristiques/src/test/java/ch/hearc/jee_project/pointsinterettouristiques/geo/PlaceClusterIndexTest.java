@@ -0,0 +1,187 @@
+package ch.hearc.jee_project.pointsinterettouristiques.geo;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceCluster;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+// Base dédiée ; chaque test place ses lieux dans sa propre zone du Pacifique, vide des données de démonstration
+// Sans cache de second niveau : ses régions JCache sont partagées par tous les contextes de test de la JVM,
+// et les identifiants de cette base y entreraient en collision avec ceux de la base de test commune
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:clusters",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+public class PlaceClusterIndexTest {
+
+    private static int nextArea;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private PlaceClusterIndex placeClusterIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private double latitude;
+    private double longitude;
+    private BoundingBox area;
+    private Long userId;
+
+    @BeforeEach
+    public void setup() {
+        latitude = -40 + 5 * nextArea;
+        longitude = -150 + 5 * nextArea;
+        nextArea++;
+        area = new BoundingBox(latitude - 1, longitude - 1, latitude + 1, longitude + 1);
+
+        User user = new User();
+        user.setUsername("cluster-voter-" + System.nanoTime());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        userId = userRepository.save(user).getId();
+    }
+
+    // Test : Une cellule donne le nombre de lieux, leur barycentre et le mieux noté comme représentant
+    @Test
+    public void clusters_shouldAggregateCountCentroidAndRepresentative() {
+        validatedPlace("A", latitude, longitude);
+        Place best = validatedPlace("B", latitude + 0.01, longitude + 0.01);
+        validatedPlace("C", latitude + 0.02, longitude + 0.02);
+        placeService.ratePlace(best.getId(), userId, 9);
+        placeClusterIndex.awaitPendingUpdates();
+
+        List<PlaceCluster> clusters = placeService.getValidatedClustersWithin(area, 3);
+
+        assertThat(clusters).hasSize(1);
+        PlaceCluster cluster = clusters.get(0);
+        assertThat(cluster.geohash()).hasSize(GeoHash.precisionForZoom(3));
+        assertThat(cluster.count()).isEqualTo(3);
+        assertThat(cluster.latitude()).isCloseTo(latitude + 0.01, within(1e-9));
+        assertThat(cluster.longitude()).isCloseTo(longitude + 0.01, within(1e-9));
+        assertThat(cluster.representative().id()).isEqualTo(best.getId());
+        assertThat(cluster.representative().averageRating()).isEqualTo(9.0);
+    }
+
+    // Test : Plus de zoom, plus de cellules ; la somme des comptes reste le nombre de lieux
+    @Test
+    public void clusters_atHigherZoom_shouldSplitCells() {
+        for (int i = 0; i < 4; i++) {
+            validatedPlace("Spread " + i, latitude + 0.3 * i, longitude + 0.3 * i);
+        }
+        placeClusterIndex.awaitPendingUpdates();
+
+        List<PlaceCluster> coarse = placeService.getValidatedClustersWithin(area, 3);
+        List<PlaceCluster> fine = placeService.getValidatedClustersWithin(area, 10);
+
+        List<String> parents = coarse.stream().map(PlaceCluster::geohash).toList();
+        assertThat(fine).hasSize(4).hasSizeGreaterThan(coarse.size());
+        assertThat(fine).allSatisfy(cluster -> assertThat(parents).anyMatch(cluster.geohash()::startsWith));
+        assertThat(coarse.stream().mapToLong(PlaceCluster::count).sum()).isEqualTo(4);
+        assertThat(fine.stream().mapToLong(PlaceCluster::count).sum()).isEqualTo(4);
+    }
+
+    // Test : Déplacement, rejet et suppression sont répercutés ; la reconstruction donne le même état
+    @Test
+    public void clusters_shouldFollowMovesModerationAndDeletion() {
+        Place moved = validatedPlace("Moved", latitude, longitude);
+        Place rejected = validatedPlace("Rejected", latitude, longitude);
+        Place deleted = validatedPlace("Deleted", latitude, longitude);
+        Place kept = validatedPlace("Kept", latitude, longitude);
+        placeClusterIndex.awaitPendingUpdates();
+        assertThat(placeService.getValidatedClustersWithin(area, 12).get(0).count()).isEqualTo(4);
+
+        Place details = placeService.getPlaceById(moved.getId());
+        details.setLatitude(latitude + 0.5);
+        details.setLongitude(longitude + 0.5);
+        placeService.updatePlace(moved.getId(), details);
+        placeService.rejectPlace(rejected.getId());
+        placeService.deletePlace(deleted.getId());
+        placeClusterIndex.awaitPendingUpdates();
+
+        List<PlaceCluster> clusters = placeService.getValidatedClustersWithin(area, 12);
+        assertThat(clusters).extracting(PlaceCluster::count).containsExactlyInAnyOrder(1L, 1L);
+        assertThat(clusters).extracting(cluster -> cluster.representative().id())
+                .containsExactlyInAnyOrder(moved.getId(), kept.getId());
+
+        placeClusterIndex.rebuild();
+        assertThat(placeService.getValidatedClustersWithin(area, 12)).containsExactlyInAnyOrderElementsOf(clusters);
+    }
+
+    // Test : Un vote et un rejet d'une autre instance (SQL direct, sans événement) sont rattrapés à la synchronisation
+    @Test
+    public void synchronize_shouldCatchUpWithOtherInstances() {
+        validatedPlace("A", latitude, longitude);
+        Place voted = validatedPlace("B", latitude, longitude);
+        Place rejected = validatedPlace("C", latitude, longitude);
+        placeClusterIndex.awaitPendingUpdates();
+
+        jdbcTemplate.update("UPDATE place SET rating_version = NEXT VALUE FOR place_rating_stamp_seq, "
+                + "rating_sum = 8, rating_count = 1, average_rating = 8.0 WHERE id = ?", voted.getId());
+        jdbcTemplate.update("UPDATE place SET status = 'REJECTED', version = version + 1 WHERE id = ?", rejected.getId());
+        jdbcTemplate.update("UPDATE catalogue_version SET version = version + 1 WHERE id = 1");
+        placeClusterIndex.synchronize();
+        placeClusterIndex.awaitPendingUpdates();
+
+        List<PlaceCluster> clusters = placeService.getValidatedClustersWithin(area, 12);
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).count()).isEqualTo(2);
+        assertThat(clusters.get(0).representative().id()).isEqualTo(voted.getId());
+    }
+
+    // Test : Un rectangle trop grand pour le zoom est refusé plutôt que de produire des milliers de cellules
+    @Test
+    public void clusters_withTooManyCells_shouldBeRejected() {
+        BoundingBox world = new BoundingBox(-90, -180, 90, 180);
+
+        assertThat(placeService.getValidatedClustersWithin(world, 0)).isNotNull();
+        assertThatThrownBy(() -> placeService.getValidatedClustersWithin(world, 12))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Test : Précision par zoom et lecture du paramètre bbox
+    @Test
+    public void precisionForZoom_andBboxParsing() {
+        assertThat(GeoHash.precisionForZoom(0)).isEqualTo(1);
+        assertThat(GeoHash.precisionForZoom(3)).isEqualTo(2);
+        assertThat(GeoHash.precisionForZoom(8)).isEqualTo(4);
+        assertThat(GeoHash.precisionForZoom(22)).isEqualTo(GeoHash.MAX_SEARCH_PRECISION);
+        for (int zoom = 0; zoom < 22; zoom++) {
+            assertThat(GeoHash.precisionForZoom(zoom + 1)).isGreaterThanOrEqualTo(GeoHash.precisionForZoom(zoom));
+        }
+
+        assertThat(BoundingBox.parse("6.5, 46.5, 7.5, 47.5")).isEqualTo(new BoundingBox(46.5, 6.5, 47.5, 7.5));
+        assertThatThrownBy(() -> BoundingBox.parse("6.5,46.5,7.5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BoundingBox.parse("a,b,c,d")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Place validatedPlace(String name, double latitude, double longitude) {
+        Place place = new Place();
+        place.setName(name);
+        place.setLocation("Pacifique");
+        place.setLatitude(latitude);
+        place.setLongitude(longitude);
+        place = placeService.createPlace(place);
+        return placeService.validatePlace(place.getId());
+    }
+}
@@ -0,0 +1,234 @@
+package ch.hearc.jee_project.pointsinterettouristiques.leaderboard;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.GeoHash;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceChangedEvent;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Base dédiée (rebuild relit tout le catalogue) ; chaque test travaille en plus dans sa propre région
+// Sans cache de second niveau : ses régions JCache sont partagées par tous les contextes de test de la JVM,
+// et les identifiants de cette base y entreraient en collision avec ceux de la base de test commune
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:leaderboards",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+public class PlaceLeaderboardsTest {
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private PlaceLeaderboards placeLeaderboards;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String region;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        region = "Région " + System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setUsername("leaderboard-voter-" + System.nanoTime());
+            user.setPassword("password");
+            user.setRole(Role.USER);
+            userIds.add(userRepository.save(user).getId());
+        }
+    }
+
+    // Test : Le classement d'une région suit les notes au fil des votes, dans l'ordre d'un tri SQL
+    @Test
+    public void topRated_shouldFollowRatingsIncrementally() {
+        Place low = validatedPlace("Low");
+        Place high = validatedPlace("High");
+        Place unrated = validatedPlace("Unrated");
+
+        placeService.ratePlace(low.getId(), userIds.get(0), 8);
+        placeService.ratePlace(high.getId(), userIds.get(0), 9);
+        placeLeaderboards.awaitPendingUpdates();
+        assertThat(names(placeService.getTopRatedPlaces(region, 10))).containsExactly("High", "Low");
+
+        placeService.ratePlace(low.getId(), userIds.get(1), 10);
+        placeService.ratePlace(low.getId(), userIds.get(2), 10);
+        placeLeaderboards.awaitPendingUpdates();
+        List<PlaceSummary> top = placeService.getTopRatedPlaces(region.toUpperCase(), 10);
+        assertThat(names(top)).containsExactly("Low", "High");
+        assertThat(top.get(0).ratingCount()).isEqualTo(3);
+        assertThat(names(placeService.getTopRatedPlaces(null, PlaceLeaderboards.MAX_LIMIT)))
+                .doesNotContain(unrated.getName());
+
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM place WHERE location = ? AND status = 'VALIDATED' AND rating_count > 0 "
+                        + "ORDER BY average_rating DESC, rating_count DESC, id", Long.class, region);
+        assertThat(top).extracting(PlaceSummary::id).containsExactlyElementsOf(expected);
+    }
+
+    // Test : Un lieu rejeté ou supprimé quitte les classements ; un lieu déplacé change de région
+    @Test
+    public void moderationAndEdits_shouldUpdateLeaderboards() {
+        Place rejected = validatedPlace("Rejected");
+        Place moved = validatedPlace("Moved");
+        Place deleted = validatedPlace("Deleted");
+        for (Place place : List.of(rejected, moved, deleted)) {
+            placeService.ratePlace(place.getId(), userIds.get(0), 8);
+        }
+        placeLeaderboards.awaitPendingUpdates();
+        assertThat(placeService.getTrendingPlaces(PlaceLeaderboards.MAX_LIMIT))
+                .extracting(PlaceSummary::id).contains(rejected.getId(), deleted.getId());
+
+        placeService.rejectPlace(rejected.getId());
+        placeService.deletePlace(deleted.getId());
+        String otherRegion = region + " bis";
+        Place details = placeService.getPlaceById(moved.getId());
+        details.setLocation(otherRegion);
+        placeService.updatePlace(moved.getId(), details);
+        placeLeaderboards.awaitPendingUpdates();
+
+        assertThat(placeService.getTopRatedPlaces(region, 10)).isEmpty();
+        assertThat(names(placeService.getTopRatedPlaces(otherRegion, 10))).containsExactly("Moved");
+        assertThat(placeService.getTrendingPlaces(PlaceLeaderboards.MAX_LIMIT))
+                .extracting(PlaceSummary::id).doesNotContain(rejected.getId(), deleted.getId());
+    }
+
+    // Test : La tendance classe les lieux par nombre de votes récents, quelle que soit la note
+    @Test
+    public void trending_shouldRankByRecentVotes() {
+        Place busy = validatedPlace("Busy");
+        Place quiet = validatedPlace("Quiet");
+        placeService.ratePlace(quiet.getId(), userIds.get(0), 10);
+        for (int i = 0; i < 4; i++) {
+            placeService.ratePlace(busy.getId(), userIds.get(i), 2);
+        }
+        placeLeaderboards.awaitPendingUpdates();
+
+        List<Long> trending = placeService.getTrendingPlaces(PlaceLeaderboards.MAX_LIMIT).stream()
+                .map(PlaceSummary::id).toList();
+        assertThat(trending).contains(busy.getId(), quiet.getId());
+        assertThat(trending.indexOf(busy.getId())).isLessThan(trending.indexOf(quiet.getId()));
+    }
+
+    // Test : La reconstruction au démarrage retrouve les mêmes classements que la mise à jour incrémentale
+    @Test
+    public void rebuild_shouldMatchIncrementalState() {
+        for (int i = 0; i < 4; i++) {
+            placeService.ratePlace(validatedPlace("Place " + i).getId(), userIds.get(i), 3 + i);
+        }
+        placeLeaderboards.awaitPendingUpdates();
+        List<PlaceSummary> incremental = placeService.getTopRatedPlaces(region, 10);
+
+        placeLeaderboards.rebuild();
+
+        assertThat(placeService.getTopRatedPlaces(region, 10)).isEqualTo(incremental);
+        assertThat(names(incremental)).containsExactly("Place 3", "Place 2", "Place 1", "Place 0");
+    }
+
+    // Test : Les écritures d'une autre instance (SQL direct, sans événement) sont rattrapées à la synchronisation
+    @Test
+    public void synchronize_shouldCatchUpWithOtherInstances() {
+        Place local = validatedPlace("Local");
+        Place voted = validatedPlace("Voted");
+        placeService.ratePlace(local.getId(), userIds.get(0), 5);
+        placeLeaderboards.awaitPendingUpdates();
+
+        // Autre instance : un vote (version de votes suivante), puis un lieu validé créé (version du catalogue)
+        jdbcTemplate.update("UPDATE place SET rating_version = NEXT VALUE FOR place_rating_stamp_seq, "
+                + "rating_sum = rating_sum + 10, rating_count = rating_count + 1, average_rating = 10.0 "
+                + "WHERE id = ?", voted.getId());
+        placeLeaderboards.synchronize();
+        placeLeaderboards.awaitPendingUpdates();
+        assertThat(names(placeService.getTopRatedPlaces(region, 10))).containsExactly("Voted", "Local");
+        assertThat(placeService.getTrendingPlaces(PlaceLeaderboards.MAX_LIMIT))
+                .extracting(PlaceSummary::id).contains(voted.getId());
+
+        Long remoteId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR place_seq", Long.class);
+        jdbcTemplate.update("INSERT INTO place (id, name, location, latitude, longitude, geohash, "
+                + "rating_sum, rating_count, average_rating, status, version) "
+                + "VALUES (?, 'Remote', ?, 46.99, 6.9293, ?, 9, 1, 9.0, 'VALIDATED', 0)",
+                remoteId, region, GeoHash.encode(46.99, 6.9293, GeoHash.MAX_PRECISION));
+        jdbcTemplate.update("UPDATE catalogue_version SET version = version + 1 WHERE id = 1");
+        placeLeaderboards.synchronize();
+        placeLeaderboards.awaitPendingUpdates();
+        assertThat(names(placeService.getTopRatedPlaces(region, 10))).containsExactly("Voted", "Remote", "Local");
+        assertThat(placeService.getTrendingPlaces(PlaceLeaderboards.MAX_LIMIT))
+                .extracting(PlaceSummary::id).contains(voted.getId(), local.getId());
+    }
+
+    // Test : Une erreur de relecture ne remonte pas au vote (déjà commité) ; le changement suivant reconstruit
+    @Test
+    public void onPlaceChanged_withDatabaseError_shouldRebuildOnNextChange() {
+        PlaceRepository repository = mock(PlaceRepository.class);
+        PlaceLeaderboards leaderboards = new PlaceLeaderboards(repository, mock(PlatformTransactionManager.class),
+                1, Duration.ofHours(24));
+        PlaceSummary rated = new PlaceSummary(1L, "Chasseral", "Sommet du Jura", region, 47.1329, 7.0593,
+                9, 1, ValidationStatus.VALIDATED);
+        try {
+            when(repository.findSummariesByIdIn(anyCollection()))
+                    .thenThrow(new DataAccessResourceFailureException("connection lost"));
+            assertThatCode(() -> leaderboards.onPlaceChanged(PlaceChangedEvent.of(PlaceChangedEvent.Change.RATED, 1L)))
+                    .doesNotThrowAnyException();
+            leaderboards.awaitPendingUpdates();
+            assertThat(leaderboards.topRated(region, 10)).isEmpty();
+
+            when(repository.streamSummariesByStatusInOrderByIdAsc(anyList())).thenReturn(Stream.of(rated));
+            leaderboards.onPlaceChanged(PlaceChangedEvent.of(PlaceChangedEvent.Change.RATED, 2L));
+            leaderboards.awaitPendingUpdates();
+            assertThat(leaderboards.topRated(region, 10)).containsExactly(rated);
+        } finally {
+            leaderboards.close();
+        }
+    }
+
+    // Test : log(e^a + e^b) reste exact pour des exposants trop grands pour Math.exp
+    @Test
+    public void logAddExp_shouldNotOverflow() {
+        assertThat(PlaceLeaderboards.logAddExp(0, 0)).isEqualTo(Math.log(2));
+        assertThat(PlaceLeaderboards.logAddExp(1000, 1000)).isEqualTo(1000 + Math.log(2));
+        assertThat(PlaceLeaderboards.logAddExp(1000, 0)).isEqualTo(1000);
+    }
+
+    private Place validatedPlace(String name) {
+        Place place = new Place();
+        place.setName(name);
+        place.setLocation(region);
+        place.setLatitude(46.9900);
+        place.setLongitude(6.9293);
+        place = placeService.createPlace(place);
+        return placeService.validatePlace(place.getId());
+    }
+
+    private static List<String> names(List<PlaceSummary> places) {
+        return places.stream().map(PlaceSummary::name).toList();
+    }
+}
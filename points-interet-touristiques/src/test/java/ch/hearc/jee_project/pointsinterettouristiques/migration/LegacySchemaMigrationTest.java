@@ -0,0 +1,141 @@
+package ch.hearc.jee_project.pointsinterettouristiques.migration;
+
+import ch.hearc.jee_project.pointsinterettouristiques.geo.GeoHash;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceService;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Démarrage sur une base créée par l'ancien ddl-auto=update : marquée version 1 puis mise à niveau par les
+// migrations, avant la validation du schéma par Hibernate. Base dédiée, sans cache de second niveau
+// (régions partagées entre contextes de test).
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+public class LegacySchemaMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Avant le démarrage du contexte (et donc de Flyway) : la base existe déjà, sans historique
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            connection.createStatement().execute("RUNSCRIPT FROM 'classpath:db/legacy-schema.sql'");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    // Test : La base existante est marquée version 1, puis toutes les migrations suivantes s'appliquent
+    @Test
+    public void history_shouldStartFromBaseline() {
+        assertThat(jdbcTemplate.queryForList("SELECT \"version\" || ':' || \"type\" FROM \"flyway_schema_history\" "
+                + "WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class))
+                .containsExactly("1:BASELINE", "1.1:JDBC", "2:SQL", "3:SQL", "4:SQL", "5:SQL", "6:SQL");
+    }
+
+    // Test : Les lieux sont conservés ; les anciennes notes, sans auteur, restent dans les agrégats
+    @Test
+    public void legacyPlaces_shouldKeepRatingsInAggregatesAndGetGeohash() {
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM place WHERE id <= 5", Long.class)).isEqualTo(5);
+
+        Map<String, Object> eiffelTower = jdbcTemplate.queryForMap(
+                "SELECT rating_sum, rating_count, average_rating, geohash, version FROM place WHERE id = 1");
+        assertThat(((Number) eiffelTower.get("RATING_SUM")).longValue()).isEqualTo(17);
+        assertThat(((Number) eiffelTower.get("RATING_COUNT")).longValue()).isEqualTo(2);
+        assertThat(((Number) eiffelTower.get("AVERAGE_RATING")).doubleValue()).isEqualTo(8.5);
+        assertThat(eiffelTower.get("GEOHASH")).isEqualTo(GeoHash.encode(48.858844, 2.294351, GeoHash.MAX_PRECISION));
+        assertThat(((Number) eiffelTower.get("VERSION")).longValue()).isZero();
+    }
+
+    // Test : Les nouveaux lieux prennent leurs identifiants après les anciens et se notent normalement
+    @Test
+    public void newPlace_shouldFollowLegacyIdsAndAcceptRatings() {
+        Place place = new Place();
+        place.setName("Jet d'eau");
+        place.setLocation("Genève");
+        place.setLatitude(46.2074);
+        place.setLongitude(6.1556);
+        place = placeService.createPlace(place);
+        placeService.validatePlace(place.getId());
+
+        Long userId = userRepository.findByUsername("user").orElseThrow().getId();
+        placeService.ratePlace(place.getId(), userId, 7);
+
+        assertThat(place.getId()).isGreaterThan(5);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT rating FROM place_ratings WHERE place_id = ? AND user_id = ?", Integer.class,
+                place.getId(), userId)).isEqualTo(7);
+    }
+
+    // Test : Base déjà passée par ddl-auto=update avec place_seq (créée à partir de 1) et geohash : la séquence
+    // repart après les identifiants existants, le reste du schéma n'est pas touché
+    @Test
+    public void sequenceBehindExistingIds_shouldRestartAboveMaxId() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:legacy-sequence", "sa", "")) {
+            Statement statement = connection.createStatement();
+            statement.execute("create table place (id bigint generated by default as identity primary key, geohash varchar(12))");
+            statement.execute("insert into place (id) values (1), (2), (3), (4), (5)");
+            statement.execute("create sequence place_seq start with 1 increment by 50");
+
+            new LegacySchemaMigration().migrate(new Context() {
+                @Override
+                public Configuration getConfiguration() {
+                    return null;
+                }
+
+                @Override
+                public Connection getConnection() {
+                    return connection;
+                }
+            });
+
+            ResultSet next = statement.executeQuery("select next value for place_seq");
+            next.next();
+            // Bloc réservé par Hibernate (pooled) : next - 49 à next
+            assertThat(next.getLong(1) - 49).isGreaterThan(5);
+        }
+    }
+
+    // Test : Les contraintes de V3 s'appliquent aussi à la base mise à niveau
+    @Test
+    public void constraints_shouldRejectOutOfRangeValues() {
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE place SET latitude = 95 WHERE id = 1"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE place SET longitude = -181 WHERE id = 1"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO place_ratings (place_id, user_id, rating) VALUES (1, 1, 11)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
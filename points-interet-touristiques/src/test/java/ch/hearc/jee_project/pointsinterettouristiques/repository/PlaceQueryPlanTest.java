@@ -0,0 +1,151 @@
+package ch.hearc.jee_project.pointsinterettouristiques.repository;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.GeoHash;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Plans d'exécution du SQL réellement émis par les dépôts, sur une table de plusieurs milliers de lieux :
+// chaque liste doit lire un index dans l'ordre et n'examiner que les lignes de la page demandée.
+// Base dédiée, sans cache de second niveau (régions partagées entre contextes de test).
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:queryplans",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ch.hearc.jee_project.pointsinterettouristiques.repository.SqlRecorder"
+})
+public class PlaceQueryPlanTest {
+
+    private static final int PLACES = 6000;
+    private static final long FIRST_ID = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setup() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM place WHERE id >= ?", Long.class, FIRST_ID) == 0) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < PLACES; i++) {
+                double latitude = -60 + (i * 7919 % 12000) / 100.0;
+                double longitude = -180 + (i * 104729 % 36000) / 100.0;
+                rows.add(new Object[]{FIRST_ID + i, "Place " + (i * 7 % PLACES), "City " + (i % 97),
+                        latitude, longitude, GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION),
+                        (i * 13) % 100 / 10.0, ValidationStatus.values()[i % 3].name()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO place (id, name, location, latitude, longitude, geohash, "
+                    + "rating_sum, rating_count, average_rating, status, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, 0, 0, ?, ?, 0)", rows);
+            jdbcTemplate.execute("ANALYZE");
+        }
+        SqlRecorder.clear();
+    }
+
+    // Test : Page triée par nom (tri par défaut) : index (status, name) lu dans l'ordre, depuis le début de la page
+    @Test
+    public void validatedPage_sortedByName_shouldReadIndexInOrder() {
+        int pageNumber = 50;
+        Page<PlaceSummary> page = placeService.getValidatedPlaces(PageRequest.of(pageNumber, PAGE_SIZE, Sort.by("name")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE).extracting(PlaceSummary::name).isSorted();
+        assertThat(page.getSort()).isEqualTo(Sort.by("name"));
+
+        String plan = explain(SqlRecorder.last("order by"), "'VALIDATED'", pageNumber * PAGE_SIZE, PAGE_SIZE);
+        assertThat(plan).contains("IDX_PLACE_STATUS_NAME").contains("/* index sorted */");
+        assertThat(scanCount(plan)).isLessThanOrEqualTo((pageNumber + 1) * PAGE_SIZE);
+    }
+
+    // Test : Meilleures notes d'abord : index (status, average_rating desc), seules les 20 premières lignes sont lues
+    @Test
+    public void validatedPage_sortedByRatingDesc_shouldReadOnlyFirstRows() {
+        Page<PlaceSummary> page = placeService.getValidatedPlaces(
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "averageRating")));
+
+        assertThat(page.getContent()).extracting(PlaceSummary::averageRating)
+                .isSortedAccordingTo((a, b) -> Double.compare(b, a));
+
+        String plan = explain(SqlRecorder.last("order by"), "'VALIDATED'", PAGE_SIZE);
+        assertThat(plan).contains("IDX_PLACE_STATUS_RATING").contains("/* index sorted */");
+        assertThat(scanCount(plan)).isLessThanOrEqualTo(PAGE_SIZE);
+    }
+
+    // Test : Le total des pages se compte sur un index du statut, pas sur la table
+    @Test
+    public void validatedPage_count_shouldUseStatusIndex() {
+        placeService.getUnvalidatedPlaces(PageRequest.of(1, PAGE_SIZE, Sort.by("location")));
+
+        assertThat(explain(SqlRecorder.last("order by"), "'UNVALIDATED'", PAGE_SIZE, PAGE_SIZE))
+                .contains("IDX_PLACE_STATUS_LOCATION").contains("/* index sorted */");
+        assertThat(explain(SqlRecorder.last("count("), "'UNVALIDATED'"))
+                .containsPattern("IDX_PLACE_STATUS_\\w+: STATUS =");
+    }
+
+    // Test : Note d'un utilisateur pour un lieu : recherche directe par la clé primaire (place_id, user_id)
+    @Test
+    public void ratingLookup_shouldUsePrimaryKey() {
+        transactionTemplate.executeWithoutResult(status -> placeRepository.findRatingForUpdate(FIRST_ID, 1L));
+
+        String plan = explain(SqlRecorder.last("place_ratings"), FIRST_ID, 1L);
+        assertThat(plan).containsPattern("PRIMARY_KEY_\\w+: PLACE_ID = .*\\s+AND USER_ID =");
+        assertThat(scanCount(plan)).isLessThanOrEqualTo(1);
+    }
+
+    // Test : Cellule geohash : parcours de plage sur l'index (status, geohash)
+    @Test
+    public void geohashCell_shouldScanIndexRange() {
+        placeRepository.findSummariesByStatusAndGeohashStartingWithAndLatitudeBetweenAndLongitudeBetween(
+                ValidationStatus.VALIDATED, "u0", 45.0, 50.6, 0.0, 11.3, Limit.of(1000));
+
+        String plan = explain(SqlRecorder.last("geohash like"), "'VALIDATED'", "'u0%'", 45.0, 50.6, 0.0, 11.3, 1000);
+        assertThat(plan).contains("IDX_PLACE_STATUS_GEOHASH").contains("GEOHASH >= 'u0'");
+        assertThat(scanCount(plan)).isLessThan(PLACES / 10);
+    }
+
+    // EXPLAIN ANALYZE de l'instruction, paramètres remplacés dans l'ordre par les valeurs données
+    private String explain(String sql, Object... parameters) {
+        StringBuilder bound = new StringBuilder();
+        int next = 0;
+        for (char c : sql.toCharArray()) {
+            bound.append(c == '?' ? String.valueOf(parameters[next++]) : String.valueOf(c));
+        }
+        assertThat(next).isEqualTo(parameters.length);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN ANALYZE " + bound, String.class));
+    }
+
+    private static int scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertThat(matcher.find()).as("scanCount in plan:%n%s", plan).isTrue();
+        return Integer.parseInt(matcher.group(1));
+    }
+}
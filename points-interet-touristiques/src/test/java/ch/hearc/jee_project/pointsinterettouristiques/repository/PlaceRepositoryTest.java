@@ -1,16 +1,21 @@
 package ch.hearc.jee_project.pointsinterettouristiques.repository;
 
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
 import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 public class PlaceRepositoryTest {
@@ -18,6 +23,9 @@ public class PlaceRepositoryTest {
     @Autowired
     private PlaceRepository placeRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @BeforeEach
     public void setup() {
         // Ajouter des lieux dans la base de données pour les tests
@@ -87,4 +95,54 @@ public class PlaceRepositoryTest {
         assertThat(places).isEmpty();
     }
 
+    @Test
+    public void findByStatusAndGeohashInBox_shouldReturnPlacesInCellAndBox() {
+        // La Tour Eiffel se trouve dans la cellule "u09t"
+        List<PlaceSummary> places = placeRepository.findSummariesByStatusAndGeohashStartingWithAndLatitudeBetweenAndLongitudeBetween(
+                ValidationStatus.VALIDATED, "u09t", 48.8, 48.9, 2.2, 2.4, Limit.of(10));
+        assertThat(places).extracting(PlaceSummary::name).containsExactly("Validated Place");
+        assertThat(placeRepository.findById(places.get(0).id())).get()
+                .extracting(Place::getGeohash).asString().startsWith("u09tunq");
+
+        // Hors du rectangle, même dans la cellule, le lieu n'est pas retourné
+        assertThat(placeRepository.findSummariesByStatusAndGeohashStartingWithAndLatitudeBetweenAndLongitudeBetween(
+                ValidationStatus.VALIDATED, "u09t", 48.8, 48.85, 2.2, 2.4, Limit.of(10)))
+                .isEmpty();
+
+        // Le lieu non validé voisin n'est pas retourné
+        assertThat(placeRepository.findSummariesByStatusAndGeohashStartingWithAndLatitudeBetweenAndLongitudeBetween(
+                ValidationStatus.VALIDATED, "dr5", -90, 90, -180, 180, Limit.of(10)))
+                .isEmpty();
+    }
+
+    @Test
+    public void save_staleCopy_shouldFailInsteadOfOverwriting() {
+        Place stale = placeRepository.findByStatus(ValidationStatus.VALIDATED).get(0);
+        entityManager.detach(stale);
+
+        // Une autre modification passe entre la lecture et la sauvegarde
+        Place current = placeRepository.findById(stale.getId()).orElseThrow();
+        current.setName("Renamed Place");
+        entityManager.flush();
+
+        stale.setDescription("Stale edit");
+        assertThatThrownBy(() -> placeRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    public void save_afterRatingDelta_shouldKeepAggregates() {
+        Place place = placeRepository.findByStatus(ValidationStatus.VALIDATED).get(0);
+
+        // Le vote détache l'entité chargée avant lui ; sa sauvegarde ne réécrit pas les agrégats
+        placeRepository.applyRatingDelta(place.getId(), 7, 1);
+        place.setDescription("Edited after vote");
+        placeRepository.saveAndFlush(place);
+        entityManager.clear();
+
+        Place stored = placeRepository.findById(place.getId()).orElseThrow();
+        assertThat(stored.getDescription()).isEqualTo("Edited after vote");
+        assertThat(stored.getRatingSum()).isEqualTo(7);
+        assertThat(stored.getRatingCount()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,147 @@
+package ch.hearc.jee_project.pointsinterettouristiques.repository;
+
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Chaque appel de dépôt s'exécute dans sa propre session : seules les lectures servies par le cache
+// de second niveau évitent la base
+@SpringBootTest(properties = "spring.profiles.active=test")
+public class SecondLevelCacheTest {
+
+    private static final int READS = 10;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Place place;
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+
+        user = new User();
+        user.setUsername("cached-user-" + System.nanoTime());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+
+        place = new Place();
+        place.setName("Cached Place");
+        place.setLocation("Neuchâtel");
+        place.setLatitude(46.9900);
+        place.setLongitude(6.9293);
+        place.setStatus(ValidationStatus.VALIDATED);
+        place.addOrUpdateRating(user.getId(), 7);
+        place = placeRepository.save(place);
+
+        statistics.clear();
+    }
+
+    // Test : Des lectures répétées par identifiant ne touchent la base qu'une fois
+    @Test
+    public void findById_repeated_shouldHitDatabaseOnce() {
+        for (int i = 0; i < READS; i++) {
+            assertThat(placeRepository.findById(place.getId())).isPresent();
+            assertThat(userRepository.findById(user.getId())).isPresent();
+        }
+
+        // Le premier enregistrement met l'entité en cache : aucune lecture en base ensuite
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2L * READS - 2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    // Test : La collection des notes est servie par le cache après le premier chargement
+    @Test
+    public void ratings_repeated_shouldHitDatabaseOnce() {
+        for (int i = 0; i < READS; i++) {
+            transactionTemplate.executeWithoutResult(status ->
+                    assertThat(placeRepository.findById(place.getId()).orElseThrow().getRatings()).hasSize(1));
+        }
+
+        assertThat(statistics.getCollectionLoadCount()).isLessThanOrEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(Place.RATINGS_CACHE_REGION).getHitCount())
+                .isGreaterThanOrEqualTo(READS - 1);
+    }
+
+    // Test : La requête findByStatus est servie par le cache de requêtes, puis invalidée par une modération
+    @Test
+    public void findByStatus_repeated_shouldUseQueryCache() {
+        int expected = placeRepository.findByStatus(ValidationStatus.VALIDATED).size();
+        long statements = statistics.getPrepareStatementCount();
+        for (int i = 0; i < READS; i++) {
+            assertThat(placeRepository.findByStatus(ValidationStatus.VALIDATED)).hasSize(expected);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(READS);
+
+        placeService.rejectPlace(place.getId());
+        assertThat(placeRepository.findByStatus(ValidationStatus.VALIDATED)).hasSize(expected - 1);
+    }
+
+    // Test : Un vote (écriture JDBC) évince le lieu et ses notes : la lecture suivante est à jour
+    @Test
+    public void ratePlace_shouldEvictStaleEntries() {
+        placeRepository.findById(place.getId());
+        transactionTemplate.executeWithoutResult(status ->
+                placeRepository.findById(place.getId()).orElseThrow().getRatings().size());
+
+        User other = new User();
+        other.setUsername("cached-voter-" + System.nanoTime());
+        other.setPassword("password");
+        other.setRole(Role.USER);
+        other = userRepository.save(other);
+        placeService.ratePlace(place.getId(), other.getId(), 9);
+
+        Place reloaded = placeRepository.findById(place.getId()).orElseThrow();
+        assertThat(reloaded.getRatingCount()).isEqualTo(2);
+        assertThat(reloaded.getRatingSum()).isEqualTo(16);
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(placeRepository.findById(place.getId()).orElseThrow().getRatings()).hasSize(2));
+    }
+
+    // Test : Modifier le lieu relit les agrégats : le cache ne reçoit pas des notes périmées
+    @Test
+    public void updatePlace_afterConcurrentVote_shouldCacheFreshAggregates() {
+        Place details = placeRepository.findById(place.getId()).orElseThrow();
+        placeRepository.applyRatingDelta(place.getId(), 3, 1);
+
+        details.setName("Renamed Cached Place");
+        Place updated = placeService.updatePlace(place.getId(), details);
+
+        assertThat(updated.getRatingSum()).isEqualTo(10);
+        Place cached = placeRepository.findById(place.getId()).orElseThrow();
+        assertThat(cached.getName()).isEqualTo("Renamed Cached Place");
+        assertThat(cached.getRatingSum()).isEqualTo(10);
+        assertThat(cached.getRatingCount()).isEqualTo(2);
+    }
+}
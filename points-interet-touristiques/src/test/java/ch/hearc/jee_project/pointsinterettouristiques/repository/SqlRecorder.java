@@ -0,0 +1,38 @@
+package ch.hearc.jee_project.pointsinterettouristiques.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Enregistre le SQL préparé par Hibernate, pour en examiner le plan d'exécution
+public class SqlRecorder implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    static void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    // Dernière instruction enregistrée qui contient le fragment donné
+    static String last(String fragment) {
+        synchronized (statements) {
+            for (int i = statements.size() - 1; i >= 0; i--) {
+                if (statements.get(i).contains(fragment)) {
+                    return statements.get(i);
+                }
+            }
+        }
+        throw new AssertionError("No recorded statement contains: " + fragment);
+    }
+}
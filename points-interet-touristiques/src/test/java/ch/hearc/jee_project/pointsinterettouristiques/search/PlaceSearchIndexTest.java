@@ -0,0 +1,86 @@
+package ch.hearc.jee_project.pointsinterettouristiques.search;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.service.PlaceChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PlaceSearchIndexTest {
+
+    @Mock
+    private PlaceRepository placeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PlaceSearchIndex placeSearchIndex;
+
+    private final PlaceSummary chasseral = new PlaceSummary(1L, "Chasseral", "Sommet du Jura", "Saint-Imier",
+            47.1329, 7.0593, 0, 0, ValidationStatus.VALIDATED);
+
+    private final PlaceSummary creuxDuVan = new PlaceSummary(2L, "Creux du Van", "Cirque rocheux", "Noiraigue",
+            46.9335, 6.7230, 0, 0, ValidationStatus.VALIDATED);
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        placeSearchIndex = new PlaceSearchIndex(placeRepository, transactionManager);
+    }
+
+    @AfterEach
+    public void close() throws IOException {
+        placeSearchIndex.close();
+    }
+
+    // Test : Une erreur de l'écouteur ne remonte pas (le changement est commité) ; la recherche suivante reconstruit l'index
+    @Test
+    public void onPlaceChanged_withDatabaseError_shouldRebuildOnNextSearch() {
+        when(placeRepository.findSummariesByIdIn(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        assertThatCode(() -> placeSearchIndex.onPlaceChanged(PlaceChangedEvent.of(PlaceChangedEvent.Change.CREATED, 1L)))
+                .doesNotThrowAnyException();
+
+        when(placeRepository.streamSummariesByStatusInOrderByIdAsc(anyList())).thenReturn(Stream.of(chasseral));
+        assertThat(placeSearchIndex.search("chasseral", ValidationStatus.VALIDATED, PageRequest.of(0, 10)).getContent())
+                .containsExactly(1L);
+    }
+
+    // Test : Une écriture d'une autre instance (nouvelle version du catalogue) reconstruit l'index à la synchronisation
+    @Test
+    public void synchronize_withNewCatalogueVersion_shouldRebuild() {
+        when(placeRepository.findCatalogueVersion()).thenReturn(4L);
+        when(placeRepository.streamSummariesByStatusInOrderByIdAsc(anyList())).thenReturn(Stream.of(chasseral));
+        placeSearchIndex.rebuild();
+
+        placeSearchIndex.synchronize();
+        verify(placeRepository, times(1)).streamSummariesByStatusInOrderByIdAsc(anyList());
+
+        when(placeRepository.findCatalogueVersion()).thenReturn(5L);
+        when(placeRepository.streamSummariesByStatusInOrderByIdAsc(anyList())).thenReturn(Stream.of(chasseral, creuxDuVan));
+        placeSearchIndex.synchronize();
+
+        assertThat(placeSearchIndex.search("creux van", ValidationStatus.VALIDATED, PageRequest.of(0, 10)).getContent())
+                .containsExactly(2L);
+    }
+}
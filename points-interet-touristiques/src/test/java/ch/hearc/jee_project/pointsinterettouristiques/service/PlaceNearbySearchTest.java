@@ -0,0 +1,94 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.BoundingBox;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.GeoHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Base dédiée : une grille de lieux plus dense que PlaceService.MAX_SEARCH_CANDIDATES dans une seule cellule
+// Sans cache de second niveau : ses régions JCache sont partagées par tous les contextes de test de la JVM
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:nearby",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+public class PlaceNearbySearchTest {
+
+    // Grille de 80 × 80 lieux espacés de 0,0001° (une dizaine de mètres), en plein Pacifique Sud
+    private static final int GRID = 80;
+    private static final double STEP = 0.0001;
+    private static final double ORIGIN_LATITUDE = -40.5;
+    private static final double ORIGIN_LONGITUDE = -100.5;
+    private static final long FIRST_ID = 10_000_000L;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Object[]> grid = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        grid.clear();
+        for (int i = 0; i < GRID; i++) {
+            for (int j = 0; j < GRID; j++) {
+                double latitude = ORIGIN_LATITUDE + i * STEP;
+                double longitude = ORIGIN_LONGITUDE + j * STEP;
+                grid.add(new Object[]{FIRST_ID + i * GRID + j, "Dense " + i + "-" + j, "Grille", "Pacifique",
+                        latitude, longitude, GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION), "VALIDATED"});
+            }
+        }
+        if (jdbcTemplate.queryForObject("SELECT count(*) FROM place WHERE id >= ?", Long.class, FIRST_ID) == 0) {
+            jdbcTemplate.batchUpdate("INSERT INTO place (id, name, description, location, latitude, longitude, geohash, "
+                    + "rating_sum, rating_count, average_rating, status, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?, 0)", grid);
+        }
+    }
+
+    // Test : Plus de lieux que le plafond de candidats dans la cellule : les plus proches sont quand même renvoyés
+    @Test
+    public void nearby_inCellDenserThanCandidateCap_shouldReturnNearestPlaces() {
+        assertThat(grid).hasSizeGreaterThan(PlaceService.MAX_SEARCH_CANDIDATES);
+        assertThat(GeoHash.encode(ORIGIN_LATITUDE, ORIGIN_LONGITUDE, 4))
+                .isEqualTo(GeoHash.encode(ORIGIN_LATITUDE + GRID * STEP, ORIGIN_LONGITUDE + GRID * STEP, 4));
+
+        // Centre décalé de la grille : pas d'égalité de distance entre les plus proches
+        double latitude = ORIGIN_LATITUDE + 57.37 * STEP;
+        double longitude = ORIGIN_LONGITUDE + 21.23 * STEP;
+        List<Long> expected = grid.stream()
+                .sorted(Comparator.comparingDouble(row -> BoundingBox.distanceKm(latitude, longitude,
+                        (double) row[4], (double) row[5])))
+                .limit(10)
+                .map(row -> (Long) row[0])
+                .toList();
+
+        List<PlaceSummary> nearest = placeService.getValidatedPlacesNearby(latitude, longitude, 5, 10);
+
+        assertThat(nearest).extracting(PlaceSummary::id).containsExactlyElementsOf(expected);
+    }
+
+    // Test : Le rectangle est filtré en base : limit lignes lues sont limit lieux du rectangle
+    @Test
+    public void within_inCellDenserThanCandidateCap_shouldReturnPlacesInBox() {
+        BoundingBox box = new BoundingBox(ORIGIN_LATITUDE + 40.5 * STEP, ORIGIN_LONGITUDE + 40.5 * STEP,
+                ORIGIN_LATITUDE + 42.5 * STEP, ORIGIN_LONGITUDE + 42.5 * STEP);
+
+        List<PlaceSummary> places = placeService.getValidatedPlacesWithin(box, 10);
+
+        assertThat(places).extracting(PlaceSummary::name)
+                .containsExactlyInAnyOrder("Dense 41-41", "Dense 41-42", "Dense 42-41", "Dense 42-42");
+    }
+}
@@ -0,0 +1,119 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingSubmission;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.profiles.active=test")
+public class PlaceRatingConcurrencyTest {
+
+    private static final int USERS = 20;
+    private static final int THREADS = 16;
+    private static final int VOTES_PER_THREAD = 50;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Place place;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        place = new Place();
+        place.setName("Contested Place");
+        place.setLocation("Neuchâtel");
+        place.setLatitude(46.9900);
+        place.setLongitude(6.9293);
+        place = placeService.createPlace(place);
+        placeService.validatePlace(place.getId());
+
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("voter-" + place.getId() + "-" + i);
+            user.setPassword("password");
+            user.setRole(Role.USER);
+            userIds.add(userRepository.save(user).getId());
+        }
+    }
+
+    // Test : Des votes concurrents (premiers votes, changements de note) et des modifications du lieu
+    // laissent les agrégats égaux à la somme et au nombre des notes enregistrées
+    @Test
+    public void concurrentRatingsAndUpdates_shouldKeepAggregatesConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                boolean editor = t == 0;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < VOTES_PER_THREAD; i++) {
+                        if (editor) {
+                            Place details = new Place();
+                            details.setName("Contested Place " + i);
+                            details.setLocation("Neuchâtel");
+                            details.setLatitude(46.9900);
+                            details.setLongitude(6.9293);
+                            placeService.updatePlace(place.getId(), details);
+                        } else if (random.nextBoolean()) {
+                            placeService.ratePlace(place.getId(), userIds.get(random.nextInt(USERS)),
+                                    1 + random.nextInt(10));
+                        } else {
+                            placeService.ratePlaces(List.of(new RatingSubmission(
+                                    place.getId(), userIds.get(random.nextInt(USERS)), 1 + random.nextInt(10))));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> expected = jdbcTemplate.queryForMap(
+                "SELECT COALESCE(SUM(rating), 0) AS total, COUNT(*) AS votes FROM place_ratings WHERE place_id = ?",
+                place.getId());
+        Place stored = placeRepository.findById(place.getId()).orElseThrow();
+
+        assertThat(stored.getRatingSum()).isEqualTo(((Number) expected.get("total")).longValue());
+        assertThat(stored.getRatingCount()).isEqualTo(((Number) expected.get("votes")).longValue());
+        assertThat(stored.getAverageRating())
+                .isEqualTo((double) stored.getRatingSum() / stored.getRatingCount());
+        assertThat(stored.getName()).isEqualTo("Contested Place " + (VOTES_PER_THREAD - 1));
+    }
+}
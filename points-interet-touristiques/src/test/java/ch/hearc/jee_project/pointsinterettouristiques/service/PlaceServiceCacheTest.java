@@ -0,0 +1,129 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.config.CacheConfig;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.profiles.active=test")
+public class PlaceServiceCacheTest {
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Place place;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        place = new Place();
+        place.setName("Cached Place");
+        place.setLocation("Neuchâtel");
+        place.setLatitude(46.9900);
+        place.setLongitude(6.9293);
+        place = placeService.createPlace(place);
+    }
+
+    // Test : Le deuxième appel est servi par le cache et compté comme hit
+    @Test
+    public void getValidatedPlaces_secondCall_shouldHitCache() {
+        double hitsBefore = cacheGets(CacheConfig.VALIDATED_PLACES, "hit");
+
+        List<PlaceSummary> first = placeService.getValidatedPlaces();
+        List<PlaceSummary> second = placeService.getValidatedPlaces();
+
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets(CacheConfig.VALIDATED_PLACES, "hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    // Test : La validation d'un lieu invalide la liste des lieux validés
+    @Test
+    public void validatePlace_shouldEvictValidatedPlaces() {
+        assertThat(placeService.getValidatedPlaces()).extracting(PlaceSummary::id).doesNotContain(place.getId());
+        placeService.getPlaceById(place.getId());
+
+        placeService.validatePlace(place.getId());
+
+        assertThat(cache(CacheConfig.VALIDATED_PLACES).get("all")).isNull();
+        assertThat(cache(CacheConfig.PLACES).get(place.getId())).isNull();
+        assertThat(placeService.getValidatedPlaces()).extracting(PlaceSummary::id).contains(place.getId());
+        assertThat(placeService.getPlaceById(place.getId()).getStatus()).isEqualTo(ValidationStatus.VALIDATED);
+    }
+
+    // Test : Une note invalide la moyenne en cache du lieu
+    @Test
+    public void ratePlace_shouldEvictAverageRating() {
+        placeService.validatePlace(place.getId());
+        User user = new User();
+        user.setUsername("cache_user_" + place.getId());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+
+        assertThat(placeService.getAverageRating(place.getId())).isEqualTo(0.0);
+
+        placeService.ratePlace(place.getId(), user.getId(), 9);
+
+        assertThat(placeService.getAverageRating(place.getId())).isEqualTo(9.0);
+        assertThat(placeRepository.findById(place.getId())).get()
+                .extracting(Place::getRatingCount).isEqualTo(1L);
+    }
+
+    // Test : Une note ne vide pas la liste des lieux validés (moyennes à retard borné)
+    @Test
+    public void ratePlace_shouldKeepValidatedPlacesCached() {
+        placeService.validatePlace(place.getId());
+        User user = new User();
+        user.setUsername("list_user_" + place.getId());
+        user.setPassword("password");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        List<PlaceSummary> cached = placeService.getValidatedPlaces();
+
+        placeService.ratePlace(place.getId(), user.getId(), 7);
+
+        assertThat(placeService.getValidatedPlaces()).isSameAs(cached);
+        assertThat(placeService.getAverageRating(place.getId())).isEqualTo(7.0);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        FunctionCounter counter = meterRegistry.find("cache.gets")
+                .tags("cache", cacheName, "result", result)
+                .functionCounter();
+        assertThat(counter).isNotNull();
+        return counter.count();
+    }
+}
@@ -1,15 +1,33 @@
 package ch.hearc.jee_project.pointsinterettouristiques.service;
 
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ModerationReport;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.ModerationRequest;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.PlaceSummary;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingResult;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.RatingSubmission;
+import ch.hearc.jee_project.pointsinterettouristiques.dto.UserIdentity;
 import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
 import ch.hearc.jee_project.pointsinterettouristiques.model.ValidationStatus;
 import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepository;
+import ch.hearc.jee_project.pointsinterettouristiques.repository.PlaceRepositoryCustom.RatingDelta;
+import ch.hearc.jee_project.pointsinterettouristiques.geo.PlaceClusterIndex;
+import ch.hearc.jee_project.pointsinterettouristiques.leaderboard.PlaceLeaderboards;
+import ch.hearc.jee_project.pointsinterettouristiques.search.PlaceSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -19,6 +37,21 @@ public class PlaceServiceTest {
     @Mock
     private PlaceRepository placeRepository;
 
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlaceSearchIndex placeSearchIndex;
+
+    @Mock
+    private PlaceLeaderboards placeLeaderboards;
+
+    @Mock
+    private PlaceClusterIndex placeClusterIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PlaceService placeService;
 
@@ -39,13 +72,14 @@ public class PlaceServiceTest {
     // Test : Récupérer tous les lieux
     @Test
     public void getAllPlaces_shouldReturnAllPlaces() {
-        when(placeRepository.findAll()).thenReturn(List.of(place));
+        when(placeRepository.findSummariesBy()).thenReturn(List.of(PlaceSummary.from(place)));
 
-        List<Place> places = placeService.getAllPlaces();
+        List<PlaceSummary> places = placeService.getAllPlaces();
 
         assertThat(places).hasSize(1);
-        assertThat(places.get(0).getName()).isEqualTo("Test Place");
-        verify(placeRepository, times(1)).findAll();
+        assertThat(places.get(0).name()).isEqualTo("Test Place");
+        verify(placeRepository, times(1)).findSummariesBy();
+        verify(placeRepository, never()).findAll();
     }
 
     // Test : Créer un lieu
@@ -62,13 +96,13 @@ public class PlaceServiceTest {
     // Test : Récupérer les lieux par statut
     @Test
     public void getPlacesByStatus_shouldReturnCorrectPlaces() {
-        when(placeRepository.findByStatus(ValidationStatus.UNVALIDATED)).thenReturn(List.of(place));
+        when(placeRepository.findSummariesByStatus(ValidationStatus.UNVALIDATED)).thenReturn(List.of(PlaceSummary.from(place)));
 
-        List<Place> unvalidatedPlaces = placeService.getPlacesByStatus(ValidationStatus.UNVALIDATED);
+        List<PlaceSummary> unvalidatedPlaces = placeService.getPlacesByStatus(ValidationStatus.UNVALIDATED);
 
         assertThat(unvalidatedPlaces).hasSize(1);
-        assertThat(unvalidatedPlaces.get(0).getName()).isEqualTo("Test Place");
-        verify(placeRepository, times(1)).findByStatus(ValidationStatus.UNVALIDATED);
+        assertThat(unvalidatedPlaces.get(0).name()).isEqualTo("Test Place");
+        verify(placeRepository, times(1)).findSummariesByStatus(ValidationStatus.UNVALIDATED);
     }
 
     // Test : Supprimer un lieu
@@ -79,5 +113,126 @@ public class PlaceServiceTest {
         placeService.deletePlace(placeId);
 
         verify(placeRepository, times(1)).deleteById(placeId);
+        verify(eventPublisher).publishEvent(PlaceChangedEvent.of(PlaceChangedEvent.Change.DELETED, placeId));
+    }
+
+    // Test : Les résultats de recherche gardent l'ordre de pertinence de l'index
+    @Test
+    public void searchValidatedPlaces_shouldKeepIndexOrder() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        Place first = new Place();
+        first.setId(7L);
+        first.setName("Château de Chillon");
+        Place second = new Place();
+        second.setId(3L);
+        second.setName("Chemin du château");
+        when(placeSearchIndex.search("chateau", ValidationStatus.VALIDATED, pageable))
+                .thenReturn(new PageImpl<>(List.of(7L, 3L), pageable, 2));
+        when(placeRepository.findSummariesByIdIn(List.of(7L, 3L)))
+                .thenReturn(List.of(PlaceSummary.from(second), PlaceSummary.from(first)));
+
+        Page<PlaceSummary> result = placeService.searchValidatedPlaces("chateau", pageable);
+
+        assertThat(result.getContent()).extracting(PlaceSummary::id).containsExactly(7L, 3L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    // Test : Noter un lieu met à jour les agrégats sans charger les notes existantes
+    @Test
+    public void ratePlace_newRating_shouldIncrementAggregates() {
+        when(placeRepository.findStatusById(1L)).thenReturn(Optional.of(ValidationStatus.VALIDATED));
+        when(userService.getIdentity(2L)).thenReturn(new UserIdentity(2L, "user", Role.USER));
+        when(placeRepository.findRatingForUpdate(1L, 2L)).thenReturn(Optional.empty());
+
+        placeService.ratePlace(1L, 2L, 8);
+
+        verify(placeRepository).insertRating(1L, 2L, 8);
+        verify(placeRepository).applyRatingDelta(1L, 8, 1);
+        verify(eventPublisher).publishEvent(PlaceChangedEvent.of(PlaceChangedEvent.Change.RATED, 1L));
+        verify(placeRepository, never()).findById(any());
+    }
+
+    // Test : Modifier sa note applique seulement la différence
+    @Test
+    public void ratePlace_updatedRating_shouldApplyDifference() {
+        when(placeRepository.findStatusById(1L)).thenReturn(Optional.of(ValidationStatus.VALIDATED));
+        when(userService.getIdentity(2L)).thenReturn(new UserIdentity(2L, "user", Role.USER));
+        when(placeRepository.findRatingForUpdate(1L, 2L)).thenReturn(Optional.of(6));
+
+        placeService.ratePlace(1L, 2L, 8);
+
+        verify(placeRepository).updateRating(1L, 2L, 8);
+        verify(placeRepository).applyRatingDelta(1L, 2, 0);
+    }
+
+    // Test : Un lot de notes est validé en bloc et les agrégats sont regroupés par lieu
+    @Test
+    public void ratePlaces_shouldGroupAggregatesPerPlace() {
+        place.setId(1L);
+        place.setStatus(ValidationStatus.VALIDATED);
+        Place pending = new Place();
+        pending.setId(2L);
+        pending.setName("Pending");
+        pending.setStatus(ValidationStatus.UNVALIDATED);
+        when(userService.findExistingIds(any())).thenReturn(Set.of(10L, 11L));
+        when(placeRepository.findSummariesByIdIn(any()))
+                .thenReturn(List.of(PlaceSummary.from(place), PlaceSummary.from(pending)));
+        when(placeRepository.findRatingsForUpdate(any(), any())).thenReturn(List.of(new RatingSubmission(1L, 11L, 4)));
+
+        List<RatingResult> results = placeService.ratePlaces(List.of(
+                new RatingSubmission(1L, 10L, 7),
+                new RatingSubmission(1L, 10L, 9),   // remplace la note précédente du lot
+                new RatingSubmission(1L, 11L, 6),   // remplace la note 4 déjà en base
+                new RatingSubmission(1L, 12L, 5),
+                new RatingSubmission(2L, 10L, 5),
+                new RatingSubmission(3L, 10L, 5),
+                new RatingSubmission(1L, 10L, 11)));
+
+        assertThat(results).extracting(RatingResult::outcome).containsExactly(
+                RatingResult.Outcome.APPLIED,
+                RatingResult.Outcome.APPLIED,
+                RatingResult.Outcome.APPLIED,
+                RatingResult.Outcome.USER_NOT_FOUND,
+                RatingResult.Outcome.PLACE_NOT_VALIDATED,
+                RatingResult.Outcome.PLACE_NOT_FOUND,
+                RatingResult.Outcome.INVALID_RATING);
+        verify(placeRepository).insertRatings(List.of(new RatingSubmission(1L, 10L, 9)));
+        verify(placeRepository).updateRatings(List.of(new RatingSubmission(1L, 11L, 6)));
+        verify(placeRepository).applyRatingDeltas(List.of(new RatingDelta(1L, 9 + 2, 1)));
+        verify(eventPublisher).publishEvent(new PlaceChangedEvent(PlaceChangedEvent.Change.RATED, List.of(1L)));
+        verify(placeRepository, never()).findById(any());
+    }
+
+    // Test : La modération en masse passe par un UPDATE groupé, sans charger ni sauvegarder d'entité
+    @Test
+    public void moderatePlaces_shouldUpdateInBulkWithoutLoadingEntities() {
+        when(placeRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+        when(placeRepository.updateStatus(Set.of(1L, 3L), ValidationStatus.VALIDATED)).thenReturn(2);
+
+        ModerationReport report = placeService.moderatePlaces(
+                new ModerationRequest(List.of(1L, 2L, 3L, 1L), null), ValidationStatus.VALIDATED);
+
+        assertThat(report.updated()).isEqualTo(2);
+        assertThat(report.notFound()).containsExactly(2L);
+        verify(placeRepository, never()).findById(any());
+        verify(placeRepository, never()).save(any());
+    }
+
+    // Test : La modération par statut parcourt les identifiants par pages, sans revérifier leur existence
+    @Test
+    public void moderatePlaces_byStatus_shouldPageIdsWithoutExistenceCheck() {
+        when(placeRepository.findIdsByStatusAfter(ValidationStatus.UNVALIDATED, 0, Limit.of(1000)))
+                .thenReturn(List.of(1L, 4L));
+        when(placeRepository.findIdsByStatusAfter(ValidationStatus.UNVALIDATED, 4L, Limit.of(1000)))
+                .thenReturn(List.of());
+        when(placeRepository.updateStatus(List.of(1L, 4L), ValidationStatus.REJECTED)).thenReturn(2);
+
+        ModerationReport report = placeService.moderatePlaces(
+                new ModerationRequest(null, ValidationStatus.UNVALIDATED), ValidationStatus.REJECTED);
+
+        assertThat(report.updated()).isEqualTo(2);
+        assertThat(report.notFound()).isEmpty();
+        verify(placeRepository, never()).findExistingIds(any());
+        verify(eventPublisher).publishEvent(new PlaceChangedEvent(PlaceChangedEvent.Change.MODERATED, List.of(1L, 4L)));
     }
 }
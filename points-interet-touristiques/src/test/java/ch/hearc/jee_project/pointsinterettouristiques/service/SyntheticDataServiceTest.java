@@ -0,0 +1,95 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.SyntheticDataReport;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Place;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Base dédiée, sans cache de second niveau : les lieux générés ne passent pas par Hibernate.
+// Petits lots pour couvrir plusieurs transactions et plusieurs blocs d'identifiants
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:synthetic",
+        "places.seed.synthetic.batch-size=300",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+public class SyntheticDataServiceTest {
+
+    @Autowired
+    private SyntheticDataService syntheticDataService;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Test : Lieux et notes générés par lots, avec des agrégats et un geohash cohérents
+    @Test
+    public void generate_shouldInsertConsistentPlacesAndRatings() {
+        long places = count("place");
+        long ratings = count("place_ratings");
+        long validated = validatedCount();
+
+        SyntheticDataReport report = syntheticDataService.generate(1000, 3, 20, 7);
+
+        assertThat(report.places()).isEqualTo(1000);
+        assertThat(report.batches()).isEqualTo(4);
+        assertThat(count("place")).isEqualTo(places + 1000);
+        assertThat(count("place_ratings")).isEqualTo(ratings + report.ratings());
+        assertThat(report.ratings()).isEqualTo(3 * (validatedCount() - validated));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM place p WHERE p.geohash IS NULL "
+                + "OR p.rating_count <> (SELECT COUNT(*) FROM place_ratings r WHERE r.place_id = p.id) "
+                + "OR p.rating_sum <> (SELECT COALESCE(SUM(r.rating), 0) FROM place_ratings r WHERE r.place_id = p.id)",
+                Long.class)).isZero();
+    }
+
+    // Test : Les identifiants réservés dans la séquence laissent Hibernate créer des lieux ensuite
+    @Test
+    public void createPlace_afterGeneration_shouldNotCollide() {
+        syntheticDataService.generate(120, 1, 5, 11);
+
+        Place place = new Place();
+        place.setName("Lieu après génération");
+        place.setLocation("Neuchâtel");
+        place.setLatitude(46.9900);
+        place.setLongitude(6.9293);
+        Place created = placeService.createPlace(place);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM place WHERE id = ?", Long.class, created.getId()))
+                .isEqualTo(1);
+    }
+
+    // Test : Une nouvelle génération reprend les utilisateurs synthétiques existants
+    @Test
+    public void generate_twice_shouldReuseUsers() {
+        syntheticDataService.generate(10, 2, 8, 1);
+        long users = count("users");
+
+        syntheticDataService.generate(10, 2, 8, 2);
+
+        assertThat(count("users")).isEqualTo(users);
+    }
+
+    // Test : Plus de notes par lieu que d'utilisateurs est refusé
+    @Test
+    public void generate_withTooFewUsers_shouldThrow() {
+        assertThatThrownBy(() -> syntheticDataService.generate(10, 5, 4, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long validatedCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM place WHERE status = 'VALIDATED'", Long.class);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,63 @@
+package ch.hearc.jee_project.pointsinterettouristiques.service;
+
+import ch.hearc.jee_project.pointsinterettouristiques.dto.UserIdentity;
+import ch.hearc.jee_project.pointsinterettouristiques.model.Role;
+import ch.hearc.jee_project.pointsinterettouristiques.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.profiles.active=test")
+public class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User admin;
+
+    @BeforeEach
+    public void setup() {
+        userService.deleteAllUsers();
+
+        admin = new User();
+        admin.setUsername("identity_admin");
+        admin.setPassword("password");
+        admin.setRole(Role.ADMIN);
+        admin = userService.createUser(admin);
+    }
+
+    // Test : L'identité est servie depuis le cache après le premier accès
+    @Test
+    public void getIdentity_secondCall_shouldNotQueryDatabase() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        UserIdentity first = userService.getIdentity(admin.getId());
+        long statementsAfterFirstCall = statistics.getPrepareStatementCount();
+        UserIdentity second = userService.getIdentity(admin.getId());
+
+        assertThat(first.role()).isEqualTo(Role.ADMIN);
+        assertThat(second).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstCall);
+    }
+
+    // Test : La suppression des utilisateurs vide le cache des identités
+    @Test
+    public void deleteAllUsers_shouldEvictIdentities() {
+        userService.getIdentity(admin.getId());
+
+        userService.deleteAllUsers();
+
+        assertThatThrownBy(() -> userService.getIdentity(admin.getId()))
+                .hasMessage("User not found");
+    }
+}
@@ -0,0 +1,36 @@
+-- Schéma et lieux de data/jpa-app.mv.db, créés par l'ancien ddl-auto=update (avant les migrations).
+-- Utilisateurs omis : DataLoader les recrée au démarrage.
+
+create table place (
+    id bigint generated by default as identity (start with 1 restart with 33) not null primary key,
+    average_rating float(53) not null,
+    description varchar(255),
+    latitude float(53) not null,
+    location varchar(255) not null,
+    longitude float(53) not null,
+    name varchar(255) not null,
+    status enum ('REJECTED','UNVALIDATED','VALIDATED') not null
+);
+
+create table place_ratings (
+    place_id bigint not null,
+    ratings integer,
+    constraint fkq3c6d202u5b12p9j1fv5emyw4 foreign key (place_id) references place (id)
+);
+
+create table users (
+    id bigint generated by default as identity (start with 1 restart with 33) not null primary key,
+    password varchar(255) not null,
+    role enum ('ADMIN','USER'),
+    username varchar(255) not null,
+    constraint ukr43af9ap4edm43mmtq01oddj6 unique (username)
+);
+
+insert into place (id, average_rating, description, latitude, location, longitude, name, status) values
+    (1, 8.5, 'Un monument célèbre à Paris.', 48.858844, 'Paris, France', 2.294351, 'Tour Eiffel', 'VALIDATED'),
+    (2, 0.0, 'Un ancien amphithéâtre romain situé à Rome.', 41.890251, 'Rome, Italie', 12.492373, 'Colisée', 'VALIDATED'),
+    (3, 0.0, 'Un symbole de la liberté situé à New York.', 40.689247, 'New York, USA', -74.044502, 'Statue de la Liberté', 'UNVALIDATED'),
+    (4, 0.0, 'Une ancienne série de murs défensifs en Chine.', 40.431908, 'Chine', 116.570374, 'Grande Muraille de Chine', 'REJECTED'),
+    (5, 0.0, 'Une ancienne cité inca située dans les Andes.', -13.163141, 'Pérou', -72.544963, 'Machu Picchu', 'VALIDATED');
+
+insert into place_ratings (place_id, ratings) values (1, 9), (1, 8);